@@ -0,0 +1,26 @@
+package com.earlycharlemagne.customerapi.cache;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches go through Spring's cache abstraction; the provider and its eviction policy are configured under
+ * {@code spring.cache}, so the in-process Caffeine cache can be swapped for a distributed one without code changes.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String CUSTOMERS_CACHE = "customers";
+
+    /**
+     * Defers puts and evictions made inside a transaction until it commits, so a concurrent read can't repopulate
+     * an entry with the row as it was before the update.
+     */
+    @Bean
+    CacheManagerCustomizer<AbstractTransactionSupportingCacheManager> transactionAwareCacheManagerCustomizer() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
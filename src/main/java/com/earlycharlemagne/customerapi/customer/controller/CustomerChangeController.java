@@ -0,0 +1,43 @@
+package com.earlycharlemagne.customerapi.customer.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChangePage;
+import com.earlycharlemagne.customerapi.customer.outbox.CustomerChangeService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feed of customer changes for consumers that poll instead of reading from a broker.
+ */
+@Validated
+@RestController
+@RequestMapping("/api/customers/changes")
+@RequiredArgsConstructor
+public class CustomerChangeController {
+    private static final String DEFAULT_LIMIT = "100";
+    private static final int MAX_LIMIT = 1000;
+
+    private final CustomerChangeService changeService;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public CustomerChangePage getChanges(@RequestParam(defaultValue = "0")
+                                         @Min(value = 0, message = "Since must not be negative")
+                                         long since,
+                                         @RequestParam(defaultValue = DEFAULT_LIMIT)
+                                         @Min(value = 1, message = "Limit must be between 1 and " + MAX_LIMIT)
+                                         @Max(value = MAX_LIMIT, message = "Limit must be between 1 and " + MAX_LIMIT)
+                                         int limit) {
+        return changeService.getChanges(since, limit);
+    }
+}
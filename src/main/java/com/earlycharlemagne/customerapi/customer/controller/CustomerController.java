@@ -2,64 +2,175 @@ package com.earlycharlemagne.customerapi.customer.controller;
 
 import java.util.List;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.earlycharlemagne.customerapi.customer.dto.AddressRequest;
+import com.earlycharlemagne.customerapi.customer.dto.AddressUpdateRequest;
+import com.earlycharlemagne.customerapi.customer.dto.BatchResponse;
 import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
 import com.earlycharlemagne.customerapi.customer.dto.CustomerIdResponse;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPageResponse;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPatch;
+import com.earlycharlemagne.customerapi.customer.export.ExportFormat;
 import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
+@Validated
 @RestController
 @RequestMapping("/api/customers")
 @RequiredArgsConstructor
 public class CustomerController {
+    static final String DEFAULT_PAGE_LIMIT = "100";
+    static final int MAX_PAGE_LIMIT = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String DEFAULT_SEARCH_LIMIT = "20";
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Pages are conditional on their ETag, so a client polling an unchanged page gets a 304 instead of the customers
+     * again. The page is still read to compare it. There is no Last-Modified: the newest update on a page doesn't
+     * change when a customer drops off it, so If-Modified-Since would answer 304 for a page that did change.
+     */
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<CustomerDto> getCustomers(@RequestParam(required = false) String firstName, @RequestParam(required = false) String lastName) {
+    public ResponseEntity<CustomerPageResponse> getCustomers(@RequestParam(required = false) String firstName,
+                                                             @RequestParam(required = false) String lastName,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT)
+                                                             @Min(value = 1, message = "Limit must be between 1 and " + MAX_PAGE_LIMIT)
+                                                             @Max(value = MAX_PAGE_LIMIT, message = "Limit must be between 1 and " + MAX_PAGE_LIMIT)
+                                                             int limit) {
+        CustomerPageResponse page = getCustomerPage(firstName, lastName, cursor, limit);
+
+        return ResponseEntity.ok()
+                             .cacheControl(CacheControl.noCache())
+                             .eTag(CustomerETags.of(page))
+                             .body(page);
+    }
+
+    private CustomerPageResponse getCustomerPage(String firstName, String lastName, String cursor, int limit) {
         if (firstName != null && lastName != null) {
-            return customerService.getCustomerByFirstAndLastName(firstName, lastName);
+            return customerService.getCustomerByFirstAndLastName(firstName, lastName, cursor, limit);
         }
 
         if (firstName != null) {
-            return customerService.getCustomerByFirstName(firstName);
+            return customerService.getCustomerByFirstName(firstName, cursor, limit);
         }
 
         if (lastName != null) {
-            return customerService.getCustomerByLastName(lastName);
+            return customerService.getCustomerByLastName(lastName, cursor, limit);
         }
 
-        return customerService.getAllCustomers();
+        return customerService.getAllCustomers(cursor, limit);
     }
 
-    @GetMapping("/{id}")
+    @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public CustomerDto getCustomerById(@PathVariable("id") String globalId) {
-        return customerService.getCustomerByGlobalId(globalId);
+    public CustomerPageResponse searchCustomers(@RequestParam
+                                                @Size(min = 3, max = 100, message = "Search query must be between 3 and 100 characters")
+                                                String q,
+                                                @RequestParam(defaultValue = DEFAULT_SEARCH_LIMIT)
+                                                @Min(value = 1, message = "Limit must be between 1 and " + MAX_SEARCH_LIMIT)
+                                                @Max(value = MAX_SEARCH_LIMIT, message = "Limit must be between 1 and " + MAX_SEARCH_LIMIT)
+                                                int limit) {
+        return customerService.searchCustomers(q, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = outputStream -> customerService.exportCustomers(format.newWriter(objectMapper, outputStream));
+
+        return ResponseEntity.ok()
+                             .contentType(format.getMediaType())
+                             .body(body);
+    }
+
+    /**
+     * Served from the customers cache when possible, so a matching {@code If-None-Match} is usually answered
+     * without touching the database.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<CustomerDto> getCustomerById(@PathVariable("id") String globalId) {
+        CustomerDto customer = customerService.getCustomerByGlobalId(globalId);
+
+        return ResponseEntity.ok()
+                             .cacheControl(CacheControl.noCache())
+                             .eTag(CustomerETags.of(customer))
+                             .lastModified(customer.getUpdatedAt())
+                             .body(customer);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public CustomerIdResponse createCustomer(@Valid @RequestBody CustomerDto customerDto) {
-        String globalId = customerService.createNewCustomer(customerDto);
+    public CustomerIdResponse createCustomer(@Valid @RequestBody CustomerDto customerDto,
+                                             @RequestHeader(name = "Idempotency-Key", required = false)
+                                             @Size(min = 1, max = 255, message = "Idempotency key must be between 1 and 255 characters")
+                                             String idempotencyKey) {
+        String globalId = customerService.createNewCustomer(customerDto, idempotencyKey);
 
         return new CustomerIdResponse(globalId);
     }
 
+    /**
+     * Applies a JSON Merge Patch. With {@code If-Match}, the patch only applies while the customer is still at the
+     * version of that ETag, and a concurrent change is answered with 412 instead of being overwritten.
+     */
+    @PatchMapping(path = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<CustomerDto> patchCustomer(@PathVariable("id") String globalId,
+                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @Valid @RequestBody CustomerPatch patch) {
+        CustomerDto customer = customerService.patchCustomer(globalId, patch, CustomerETags.versions(ifMatch));
+
+        return ResponseEntity.ok()
+                             .eTag(CustomerETags.of(customer))
+                             .lastModified(customer.getUpdatedAt())
+                             .body(customer);
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse createCustomers(@RequestBody
+                                         @Size(min = 1, max = MAX_BATCH_SIZE, message = "Batch must contain between 1 and " + MAX_BATCH_SIZE + " customers")
+                                         List<@NotNull(message = "Customer is required") CustomerDto> customerDtos) {
+        return new BatchResponse(customerService.createNewCustomers(customerDtos));
+    }
+
+    @PutMapping("/batch/address")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse updateCustomerAddresses(@RequestBody
+                                                 @Size(min = 1, max = MAX_BATCH_SIZE, message = "Batch must contain between 1 and " + MAX_BATCH_SIZE + " address updates")
+                                                 List<@NotNull(message = "Address update is required") AddressUpdateRequest> addressUpdates) {
+        return new BatchResponse(customerService.updateExistingCustomerAddresses(addressUpdates));
+    }
+
     @PutMapping("/{id}/address")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void updateCustomerAddress(@PathVariable("id") String globalId, @Valid @RequestBody AddressRequest addressRequest) {
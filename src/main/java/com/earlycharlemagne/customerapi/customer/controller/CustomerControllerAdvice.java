@@ -2,7 +2,13 @@ package com.earlycharlemagne.customerapi.customer.controller;
 
 import java.util.List;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -11,17 +17,44 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.earlycharlemagne.customerapi.customer.exception.CustomerCreationException;
 import com.earlycharlemagne.customerapi.customer.dto.ErrorResponse;
 import com.earlycharlemagne.customerapi.customer.dto.ValidationError;
+import com.earlycharlemagne.customerapi.customer.exception.CustomerModifiedException;
 import com.earlycharlemagne.customerapi.customer.exception.CustomerNotFoundException;
+import com.earlycharlemagne.customerapi.customer.exception.IdempotencyKeyReusedException;
+import com.earlycharlemagne.customerapi.customer.exception.IngestionQueueFullException;
+import com.earlycharlemagne.customerapi.customer.exception.InvalidCursorException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RestControllerAdvice
 public class CustomerControllerAdvice {
+    private static final String INGESTION_RETRY_AFTER_SECONDS = "1";
+
+    private final Counter customerNotFound;
+    private final Counter customerExists;
+    private final Counter customerModified;
+    private final Counter idempotencyKeyReused;
+    private final Counter ingestionQueueFull;
+    private final Counter invalidCursor;
+    private final Counter validationError;
+
+    public CustomerControllerAdvice(MeterRegistry meterRegistry) {
+        this.customerNotFound = errorCounter(meterRegistry, "CUSTOMER_NOT_FOUND");
+        this.customerExists = errorCounter(meterRegistry, "CUSTOMER_EXISTS");
+        this.customerModified = errorCounter(meterRegistry, "CUSTOMER_MODIFIED");
+        this.idempotencyKeyReused = errorCounter(meterRegistry, "IDEMPOTENCY_KEY_REUSED");
+        this.ingestionQueueFull = errorCounter(meterRegistry, "INGESTION_QUEUE_FULL");
+        this.invalidCursor = errorCounter(meterRegistry, "INVALID_CURSOR");
+        this.validationError = errorCounter(meterRegistry, "VALIDATION_ERROR");
+    }
+
     @ExceptionHandler(CustomerNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     ErrorResponse handleCustomerNotFoundException(CustomerNotFoundException e) {
-        log.error("handleCustomerNotFoundException [{}]", e.getMessage());
+        log.debug("handleCustomerNotFoundException [{}]", e.getMessage());
+        customerNotFound.increment();
 
         return new ErrorResponse("CUSTOMER_NOT_FOUND");
     }
@@ -30,14 +63,53 @@ public class CustomerControllerAdvice {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     ErrorResponse handleCustomerCreationException(CustomerCreationException e) {
         log.error("handleCustomerCreationException [{}]", e.getMessage());
+        customerExists.increment();
 
         return new ErrorResponse("CUSTOMER_EXISTS");
     }
 
+    @ExceptionHandler(CustomerModifiedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    ErrorResponse handleCustomerModifiedException(CustomerModifiedException e) {
+        log.debug("handleCustomerModifiedException [{}]", e.getMessage());
+        customerModified.increment();
+
+        return new ErrorResponse("CUSTOMER_MODIFIED");
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    ErrorResponse handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+        log.error("handleIdempotencyKeyReusedException [{}]", e.getMessage());
+        idempotencyKeyReused.increment();
+
+        return new ErrorResponse("IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @ExceptionHandler(IngestionQueueFullException.class)
+    ResponseEntity<ErrorResponse> handleIngestionQueueFullException(IngestionQueueFullException e) {
+        log.warn("handleIngestionQueueFullException [{}]", e.getMessage());
+        ingestionQueueFull.increment();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .header(HttpHeaders.RETRY_AFTER, INGESTION_RETRY_AFTER_SECONDS)
+                             .body(new ErrorResponse("INGESTION_QUEUE_FULL"));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ErrorResponse handleInvalidCursorException(InvalidCursorException e) {
+        log.error("handleInvalidCursorException [{}]", e.getMessage());
+        invalidCursor.increment();
+
+        return new ErrorResponse("INVALID_CURSOR");
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
         log.error("handleMethodArgumentNotValidException [{}]", e.getMessage());
+        validationError.increment();
         List<ValidationError> errors = e.getBindingResult()
                                         .getFieldErrors()
                                         .stream()
@@ -46,4 +118,33 @@ public class CustomerControllerAdvice {
 
         return new ErrorResponse("VALIDATION_ERROR", errors);
     }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ErrorResponse handleConstraintViolationException(ConstraintViolationException e) {
+        log.error("handleConstraintViolationException [{}]", e.getMessage());
+        validationError.increment();
+        List<ValidationError> errors = e.getConstraintViolations()
+                                        .stream()
+                                        .map(violation -> new ValidationError(parameterName(violation), violation.getMessage()))
+                                        .toList();
+
+        return new ErrorResponse("VALIDATION_ERROR", errors);
+    }
+
+    private static Counter errorCounter(MeterRegistry meterRegistry, String errorCode) {
+        return Counter.builder("customer.errors")
+                      .description("Requests rejected with an error response, by error code")
+                      .tag("code", errorCode)
+                      .register(meterRegistry);
+    }
+
+    private static String parameterName(ConstraintViolation<?> violation) {
+        String name = null;
+        for (Path.Node node : violation.getPropertyPath()) {
+            name = node.getName();
+        }
+
+        return name;
+    }
 }
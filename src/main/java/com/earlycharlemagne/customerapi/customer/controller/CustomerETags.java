@@ -0,0 +1,65 @@
+package com.earlycharlemagne.customerapi.customer.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.http.ETag;
+import org.springframework.util.DigestUtils;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPageResponse;
+
+/**
+ * Validators for conditional customer reads, derived from customer versions rather than from the response body.
+ * A single customer gets a strong ETag. Pages get a weak one, because Tomcat doesn't compress responses with a
+ * strong ETag and pages are the responses worth compressing.
+ */
+final class CustomerETags {
+    private static final Pattern VERSION = Pattern.compile("\\d{1,18}");
+
+    private CustomerETags() {
+    }
+
+    static String of(CustomerDto customer) {
+        return "\"" + customer.getVersion() + "\"";
+    }
+
+    static String of(CustomerPageResponse page) {
+        StringBuilder versions = new StringBuilder();
+        for (CustomerDto customer : page.customers()) {
+            versions.append(customer.getId())
+                    .append(':')
+                    .append(customer.getVersion())
+                    .append(',');
+        }
+        versions.append(page.nextCursor());
+
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.toString()
+                                                           .getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * The versions an {@code If-Match} header allows, or {@code null} for any version. Weak ETags never match, as
+     * If-Match uses the strong comparison.
+     */
+    static List<Long> versions(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        List<ETag> eTags = ETag.parse(ifMatch);
+        if (eTags.stream()
+                 .anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+
+        return eTags.stream()
+                    .filter(eTag -> !eTag.weak())
+                    .map(ETag::tag)
+                    .filter(tag -> VERSION.matcher(tag)
+                                          .matches())
+                    .map(Long::valueOf)
+                    .toList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.earlycharlemagne.customerapi.customer.controller;
+
+import java.net.URI;
+
+import jakarta.validation.Valid;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerIdResponse;
+import com.earlycharlemagne.customerapi.customer.dto.IngestionStatusResponse;
+import com.earlycharlemagne.customerapi.customer.ingestion.CustomerIngestionService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Asynchronous customer creation, used instead of the regular one when a client sends {@code Prefer: respond-async}.
+ * Requests with an Idempotency-Key are always handled synchronously.
+ */
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "customerapi.ingestion.enabled", havingValue = "true")
+public class CustomerIngestionController {
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    private final CustomerIngestionService ingestionService;
+
+    @PostMapping(headers = {"Prefer=" + RESPOND_ASYNC, "!Idempotency-Key"})
+    public ResponseEntity<CustomerIdResponse> acceptCustomer(@Valid @RequestBody CustomerDto customerDto) {
+        String globalId = ingestionService.accept(customerDto);
+
+        return ResponseEntity.accepted()
+                             .location(URI.create("/api/customers/ingestion/" + globalId))
+                             .header("Preference-Applied", RESPOND_ASYNC)
+                             .body(new CustomerIdResponse(globalId));
+    }
+
+    @GetMapping("/ingestion/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public IngestionStatusResponse getIngestionStatus(@PathVariable("id") String globalId) {
+        return ingestionService.getStatus(globalId);
+    }
+}
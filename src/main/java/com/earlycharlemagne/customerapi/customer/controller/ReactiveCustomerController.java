@@ -0,0 +1,88 @@
+package com.earlycharlemagne.customerapi.customer.controller;
+
+import static com.earlycharlemagne.customerapi.customer.controller.CustomerController.DEFAULT_PAGE_LIMIT;
+import static com.earlycharlemagne.customerapi.customer.controller.CustomerController.MAX_PAGE_LIMIT;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPageResponse;
+import com.earlycharlemagne.customerapi.customer.service.ReactiveCustomerService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive reads, served by Spring MVC as async requests: the request thread is released while the query runs
+ * on the R2DBC event loop. Lists are keyset pages bounded like the regular list endpoint and written as NDJSON;
+ * as the body has no room for the next cursor, the next page is linked in the {@code Link} header.
+ */
+@Profile("reactive")
+@Validated
+@RestController
+@RequestMapping("/api/reactive/customers")
+@RequiredArgsConstructor
+public class ReactiveCustomerController {
+    private final ReactiveCustomerService customerService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<CustomerDto>>> getCustomers(@RequestParam(required = false) String firstName,
+                                                                @RequestParam(required = false) String lastName,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = DEFAULT_PAGE_LIMIT)
+                                                                @Min(value = 1, message = "Limit must be between 1 and " + MAX_PAGE_LIMIT)
+                                                                @Max(value = MAX_PAGE_LIMIT, message = "Limit must be between 1 and " + MAX_PAGE_LIMIT)
+                                                                int limit) {
+        UriComponentsBuilder nextPage = ServletUriComponentsBuilder.fromCurrentRequest();
+
+        return getCustomerPage(firstName, lastName, cursor, limit).map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                String next = nextPage.replaceQueryParam("cursor", page.nextCursor())
+                                      .toUriString();
+                response.header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(next));
+            }
+
+            return response.body(Flux.fromIterable(page.customers()));
+        });
+    }
+
+    private Mono<CustomerPageResponse> getCustomerPage(String firstName, String lastName, String cursor, int limit) {
+        if (firstName != null && lastName != null) {
+            return customerService.getCustomerByFirstAndLastName(firstName, lastName, cursor, limit);
+        }
+
+        if (firstName != null) {
+            return customerService.getCustomerByFirstName(firstName, cursor, limit);
+        }
+
+        if (lastName != null) {
+            return customerService.getCustomerByLastName(lastName, cursor, limit);
+        }
+
+        return customerService.getAllCustomers(cursor, limit);
+    }
+
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<CustomerDto> getCustomerById(@PathVariable("id") String globalId) {
+        return customerService.getCustomerByGlobalId(globalId);
+    }
+}
@@ -1,7 +1,7 @@
 package com.earlycharlemagne.customerapi.customer.dto;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.Size;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public record AddressRequest(
     @NotBlank(message = "Address is required")
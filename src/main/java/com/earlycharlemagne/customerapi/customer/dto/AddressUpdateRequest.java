@@ -0,0 +1,12 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record AddressUpdateRequest(
+    @NotBlank(message = "Id is required")
+    String id,
+    @NotBlank(message = "Address is required")
+    @Size(min = 2, max = 255, message = "Length of address must be between 2 and 255 characters")
+    String address
+) {}
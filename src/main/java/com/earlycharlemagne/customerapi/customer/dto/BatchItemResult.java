@@ -0,0 +1,24 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, BatchItemStatus status, String id, List<ValidationError> errors) {
+    public static BatchItemResult created(int index, String id) {
+        return new BatchItemResult(index, BatchItemStatus.CREATED, id, null);
+    }
+
+    public static BatchItemResult updated(int index, String id) {
+        return new BatchItemResult(index, BatchItemStatus.UPDATED, id, null);
+    }
+
+    public static BatchItemResult failed(int index, BatchItemStatus status) {
+        return new BatchItemResult(index, status, null, null);
+    }
+
+    public static BatchItemResult invalid(int index, List<ValidationError> errors) {
+        return new BatchItemResult(index, BatchItemStatus.VALIDATION_ERROR, null, errors);
+    }
+}
@@ -0,0 +1,9 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    CUSTOMER_EXISTS,
+    CUSTOMER_NOT_FOUND,
+    VALIDATION_ERROR
+}
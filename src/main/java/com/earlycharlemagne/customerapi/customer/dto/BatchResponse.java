@@ -0,0 +1,5 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import java.util.List;
+
+public record BatchResponse(List<BatchItemResult> results) {}
@@ -0,0 +1,12 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * A published customer change. {@code customer} is the customer as it was right after the change, in the
+ * representation of {@code GET /api/customers/{id}}.
+ */
+public record CustomerChange(long position, UUID id, CustomerChangeType type, long version, @JsonRawValue String customer, Instant changedAt) {}
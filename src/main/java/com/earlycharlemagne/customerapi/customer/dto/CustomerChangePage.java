@@ -0,0 +1,8 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import java.util.List;
+
+/**
+ * {@code since} is the position to ask for the next changes with; it stays the same when there were none.
+ */
+public record CustomerChangePage(List<CustomerChange> changes, long since) {}
@@ -0,0 +1,7 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+public enum CustomerChangeType {
+    CREATED,
+    ADDRESS_UPDATED,
+    PATCHED
+}
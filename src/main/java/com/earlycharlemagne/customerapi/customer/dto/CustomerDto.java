@@ -1,16 +1,20 @@
 package com.earlycharlemagne.customerapi.customer.dto;
 
-import javax.validation.constraints.Email;
-import javax.validation.constraints.Min;
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Size;
+import java.time.Instant;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.Builder;
 import lombok.Value;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class CustomerDto {
     String id;
     @NotBlank(message = "First name is required")
@@ -28,4 +32,11 @@ public class CustomerDto {
     @NotBlank(message = "Address is required")
     @Size(min = 2, max = 255, message = "Length of address must be between 2 and 255 characters")
     String address;
+    /**
+     * Not part of the representation; sent as the ETag and Last-Modified headers instead.
+     */
+    @JsonIgnore
+    Long version;
+    @JsonIgnore
+    Instant updatedAt;
 }
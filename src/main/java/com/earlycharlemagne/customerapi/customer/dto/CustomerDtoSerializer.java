@@ -0,0 +1,58 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import java.io.IOException;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes customers field by field instead of through Jackson's reflective bean serializer, which dominates the
+ * time spent on large pages and exports. Field names are encoded once up front. The output is the same as the bean
+ * serializer's: same field order, nulls written out, version and updatedAt left out.
+ * <p>
+ * The mapper's inclusion, naming and view settings don't apply to customers, and a field added to
+ * {@code CustomerDto} has to be added here too; {@code CustomerDtoSerializerTest} fails until it is.
+ */
+@JsonComponent
+public class CustomerDtoSerializer extends StdSerializer<CustomerDto> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString AGE = new SerializedString("age");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+
+    public CustomerDtoSerializer() {
+        super(CustomerDto.class);
+    }
+
+    @Override
+    public void serialize(CustomerDto customer, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(customer);
+        writeString(generator, ID, customer.getId());
+        writeString(generator, FIRST_NAME, customer.getFirstName());
+        writeString(generator, LAST_NAME, customer.getLastName());
+        writeString(generator, EMAIL, customer.getEmail());
+        generator.writeFieldName(AGE);
+        if (customer.getAge() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(customer.getAge());
+        }
+        writeString(generator, ADDRESS, customer.getAddress());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CustomerPageResponse(List<CustomerDto> customers, String nextCursor) {}
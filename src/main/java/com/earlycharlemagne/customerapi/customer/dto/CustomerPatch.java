@@ -0,0 +1,45 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * JSON Merge Patch of a customer. Fields left out of the patch keep their value. Every customer field is
+ * required, so a patch that removes one by setting it to {@code null} is rejected.
+ * <p>
+ * Bound through setters rather than a constructor, so only an explicit {@code null} fails and a missing field
+ * doesn't.
+ */
+@Getter
+@Setter
+public class CustomerPatch {
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = "First name is required")
+    @Size(min = 2, max = 50, message = "Length of first name must be between 2 and 50 characters")
+    private String firstName;
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = "Last name is required")
+    @Size(min = 2, max = 50, message = "Length of last name must be between 2 and 50 characters")
+    private String lastName;
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = "Email is required")
+    @Email(message = "Email is not valid")
+    private String email;
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Min(value = 18, message = "Age must be 18 and above")
+    private Integer age;
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = "Address is required")
+    @Size(min = 2, max = 255, message = "Length of address must be between 2 and 255 characters")
+    private String address;
+}
@@ -0,0 +1,7 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+public enum IngestionStatus {
+    PENDING,
+    CREATED,
+    CUSTOMER_EXISTS
+}
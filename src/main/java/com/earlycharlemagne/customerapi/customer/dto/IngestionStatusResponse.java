@@ -0,0 +1,3 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+public record IngestionStatusResponse(String id, IngestionStatus status) {}
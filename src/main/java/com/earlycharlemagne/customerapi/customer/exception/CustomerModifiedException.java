@@ -0,0 +1,7 @@
+package com.earlycharlemagne.customerapi.customer.exception;
+
+public class CustomerModifiedException extends RuntimeException {
+    public CustomerModifiedException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,11 @@
 package com.earlycharlemagne.customerapi.customer.exception;
 
+/**
+ * Thrown for every unknown globalId, which is routine client input rather than a fault, so no stack trace is
+ * captured.
+ */
 public class CustomerNotFoundException extends RuntimeException {
     public CustomerNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
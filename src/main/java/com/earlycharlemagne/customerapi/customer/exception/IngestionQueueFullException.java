@@ -0,0 +1,7 @@
+package com.earlycharlemagne.customerapi.customer.exception;
+
+public class IngestionQueueFullException extends RuntimeException {
+    public IngestionQueueFullException(String message) {
+        super(message);
+    }
+}
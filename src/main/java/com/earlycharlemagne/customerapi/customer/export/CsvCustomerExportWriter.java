@@ -0,0 +1,59 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+
+class CsvCustomerExportWriter implements CustomerExportWriter {
+    private static final String HEADER = "id,firstName,lastName,email,age,address";
+
+    private final Writer writer;
+
+    CsvCustomerExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.writer.write(HEADER);
+        this.writer.write('\n');
+    }
+
+    @Override
+    public void write(CustomerDto customer) throws IOException {
+        writeField(customer.getId());
+        writer.write(',');
+        writeField(customer.getFirstName());
+        writer.write(',');
+        writeField(customer.getLastName());
+        writer.write(',');
+        writeField(customer.getEmail());
+        writer.write(',');
+        writeField(customer.getAge() == null ? null : customer.getAge()
+                                                              .toString());
+        writer.write(',');
+        writeField(customer.getAddress());
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,214 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports all customers to gzipped files, one per range of the id keyspace. Ranges are aligned to the range size,
+ * so a run that resumes from the checkpoint splits the keyspace the same way. Each worker streams its range in its
+ * own read-only transaction, so at most {@code workers} connections are taken from the pool, and from the replicas
+ * when they are enabled. Rows changed while the export runs may or may not be in it.
+ * <p>
+ * A file only appears once its range is complete. Ranges without customers get no file.
+ * <p>
+ * Only one export runs at a time across instances: a run holds an advisory lock in a transaction of its own, on the
+ * primary, for as long as it takes, and a run that can't get it is skipped.
+ * <p>
+ * Scheduled runs are handed to a thread of their own. A throttled export can take hours, and on the shared scheduler
+ * thread it would hold up the change relay, the replica health checks and the cleanups for all that time.
+ */
+@Slf4j
+@Component
+public class CustomerExportJob implements AutoCloseable {
+    private static final String CRON = "#{@exportJobProperties.cron}";
+    private static final String CHECKPOINT_FILE = "export.checkpoint";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final CustomerRepository repository;
+    private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
+    private final ExportJobProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter exportedRows;
+    private final ExecutorService scheduledRuns = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                                                                         Thread.ofPlatform()
+                                                                               .name("customer-export-scheduled")
+                                                                               .factory());
+
+    public CustomerExportJob(CustomerRepository repository,
+                             CustomerService customerService,
+                             ObjectMapper objectMapper,
+                             ExportJobProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.customerService = customerService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.exportedRows = Counter.builder("customer.export.rows")
+                                   .description("Customers written by the export job")
+                                   .register(meterRegistry);
+    }
+
+    /**
+     * Returns once the run is started; skipped while the previous scheduled run is still going.
+     */
+    @Scheduled(cron = CRON)
+    public void runScheduled() {
+        try {
+            scheduledRuns.execute(() -> {
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.error("Scheduled customer export failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.info("Previous scheduled customer export is still running, skipping this run");
+        }
+    }
+
+    /**
+     * Interrupts a scheduled run in progress; it resumes from the checkpoint next time.
+     */
+    @Override
+    public void close() {
+        scheduledRuns.shutdownNow();
+    }
+
+    /**
+     * Exports the ranges the checkpoint doesn't list as done. The checkpoint is removed when every range is, so the
+     * next run starts over; when a range fails the run stops and the next one resumes. Returns empty when another
+     * run holds the lock.
+     */
+    public Optional<ExportJobResult> run() {
+        return transactionTemplate.execute(status -> {
+            if (!repository.tryLockExportJob()) {
+                log.info("Customer export is already running, skipping this run");
+                return Optional.empty();
+            }
+
+            return Optional.of(exportPending());
+        });
+    }
+
+    private ExportJobResult exportPending() {
+        try {
+            Files.createDirectories(properties.getDirectory());
+            List<ExportRange> ranges = ranges();
+
+            try (ExportCheckpoint checkpoint = new ExportCheckpoint(properties.getDirectory()
+                                                                              .resolve(CHECKPOINT_FILE))) {
+                List<ExportRange> pending = ranges.stream()
+                                                  .filter(range -> !checkpoint.isCompleted(range))
+                                                  .toList();
+                log.info("Exporting [{}] of [{}] customer id ranges to [{}]", pending.size(), ranges.size(), properties.getDirectory());
+
+                long exported = export(pending, checkpoint);
+                checkpoint.delete();
+
+                log.info("Exported [{}] customers", exported);
+                return new ExportJobResult(ranges.size(), ranges.size() - pending.size(), exported);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long export(List<ExportRange> ranges, ExportCheckpoint checkpoint) {
+        RowThrottle throttle = new RowThrottle(properties.getMaxRowsPerSecond());
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getWorkers(), Thread.ofPlatform()
+                                                                                              .name("customer-export-", 0)
+                                                                                              .factory());
+        try {
+            List<Future<Long>> exports = new ArrayList<>(ranges.size());
+            for (ExportRange range : ranges) {
+                exports.add(executor.submit(() -> exportRange(range, checkpoint, throttle)));
+            }
+
+            long exported = 0;
+            for (Future<Long> export : exports) {
+                exported += export.get();
+            }
+
+            return exported;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Customer export failed, the next run resumes from the checkpoint", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IllegalStateException("Customer export was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long exportRange(ExportRange range, ExportCheckpoint checkpoint, RowThrottle throttle) throws IOException {
+        ExportFormat format = properties.getFormat();
+        Path file = properties.getDirectory()
+                              .resolve(range.fileName(format));
+        Path partialFile = file.resolveSibling(file.getFileName() + ".partial");
+
+        long exported;
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(partialFile), GZIP_BUFFER_SIZE)) {
+            CustomerExportWriter writer = new ThrottledExportWriter(format.newWriter(objectMapper, outputStream), throttle);
+            exported = customerService.exportCustomers(range.fromId(), range.toId(), writer);
+        }
+
+        if (exported > 0) {
+            Files.move(partialFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } else {
+            Files.delete(partialFile);
+        }
+        checkpoint.complete(range);
+        exportedRows.increment(exported);
+
+        return exported;
+    }
+
+    private List<ExportRange> ranges() {
+        Optional<Long> minId = repository.findMinId();
+        Optional<Long> maxId = repository.findMaxId();
+        if (minId.isEmpty() || maxId.isEmpty()) {
+            return List.of();
+        }
+
+        long rangeSize = properties.getRangeSize();
+        List<ExportRange> ranges = new ArrayList<>();
+        for (long fromId = Math.floorDiv(minId.get(), rangeSize) * rangeSize; fromId <= maxId.get(); fromId += rangeSize) {
+            ranges.add(new ExportRange(fromId, fromId + rangeSize));
+        }
+
+        return ranges;
+    }
+}
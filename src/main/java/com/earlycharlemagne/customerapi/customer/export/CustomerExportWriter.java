@@ -0,0 +1,10 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+
+public interface CustomerExportWriter extends Flushable {
+    void write(CustomerDto customer) throws IOException;
+}
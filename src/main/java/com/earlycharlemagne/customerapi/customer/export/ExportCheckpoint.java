@@ -0,0 +1,52 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The ranges an export run has finished, one per line. A range is only recorded once its file is in place and each
+ * line is forced to disk, so an interrupted run picks up where it left off.
+ */
+class ExportCheckpoint implements AutoCloseable {
+    private final Path path;
+    private final Set<ExportRange> completed;
+    private final FileChannel channel;
+
+    ExportCheckpoint(Path path) throws IOException {
+        this.path = path;
+        this.completed = Files.exists(path) ? Files.readAllLines(path, StandardCharsets.UTF_8)
+                                                   .stream()
+                                                   .filter(line -> !line.isBlank())
+                                                   .map(ExportRange::parse)
+                                                   .collect(Collectors.toUnmodifiableSet()) : Set.of();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    boolean isCompleted(ExportRange range) {
+        return completed.contains(range);
+    }
+
+    synchronized void complete(ExportRange range) throws IOException {
+        channel.write(StandardCharsets.UTF_8.encode(range + "\n"));
+        channel.force(false);
+    }
+
+    /**
+     * Removes the checkpoint once the whole run is done, so the next run exports everything again.
+     */
+    void delete() throws IOException {
+        close();
+        Files.delete(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson") {
+        @Override
+        public CustomerExportWriter newWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+            return new NdjsonCustomerExportWriter(objectMapper, outputStream);
+        }
+    },
+    CSV(MediaType.parseMediaType("text/csv"), "csv") {
+        @Override
+        public CustomerExportWriter newWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+            return new CsvCustomerExportWriter(outputStream);
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    public abstract CustomerExportWriter newWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("customerapi.export-job")
+public class ExportJobProperties {
+    /**
+     * When the job runs; {@code -} never runs it.
+     */
+    private String cron = "-";
+    private Path directory = Path.of("export");
+    private ExportFormat format = ExportFormat.NDJSON;
+    private long rangeSize = 100_000;
+    private int workers = 4;
+    /**
+     * Rows per second across all workers; 0 is unthrottled.
+     */
+    private int maxRowsPerSecond = 0;
+}
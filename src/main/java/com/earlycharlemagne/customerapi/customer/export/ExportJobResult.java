@@ -0,0 +1,3 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+public record ExportJobResult(int ranges, int skippedRanges, long exportedRows) {}
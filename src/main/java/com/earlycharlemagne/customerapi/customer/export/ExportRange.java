@@ -0,0 +1,21 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+/**
+ * A slice of the customer id keyspace, {@code fromId} inclusive and {@code toId} exclusive.
+ */
+record ExportRange(long fromId, long toId) {
+    static ExportRange parse(String range) {
+        int separator = range.indexOf('-');
+
+        return new ExportRange(Long.parseLong(range.substring(0, separator)), Long.parseLong(range.substring(separator + 1)));
+    }
+
+    String fileName(ExportFormat format) {
+        return "customers-%020d-%020d.%s.gz".formatted(fromId, toId, format.getFileExtension());
+    }
+
+    @Override
+    public String toString() {
+        return fromId + "-" + toId;
+    }
+}
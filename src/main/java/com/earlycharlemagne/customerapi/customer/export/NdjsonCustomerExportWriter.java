@@ -0,0 +1,32 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class NdjsonCustomerExportWriter implements CustomerExportWriter {
+    private final ObjectMapper objectMapper;
+    private final JsonGenerator generator;
+
+    NdjsonCustomerExportWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.generator = objectMapper.getFactory()
+                                     .createGenerator(outputStream)
+                                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(CustomerDto customer) throws IOException {
+        objectMapper.writeValue(generator, customer);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,32 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out rows shared by all workers of an export run so they don't read faster than the configured rate.
+ */
+class RowThrottle {
+    private final long nanosPerRow;
+    private long nextFreeNanos = System.nanoTime();
+
+    RowThrottle(int maxRowsPerSecond) {
+        this.nanosPerRow = maxRowsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond : 0;
+    }
+
+    void acquire(int rows) throws InterruptedException {
+        if (nanosPerRow == 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            nextFreeNanos = Math.max(nextFreeNanos, now) + rows * nanosPerRow;
+            waitNanos = nextFreeNanos - now - rows * nanosPerRow;
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
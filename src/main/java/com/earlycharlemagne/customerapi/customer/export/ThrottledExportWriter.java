@@ -0,0 +1,32 @@
+package com.earlycharlemagne.customerapi.customer.export;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class ThrottledExportWriter implements CustomerExportWriter {
+    private final CustomerExportWriter writer;
+    private final RowThrottle throttle;
+
+    @Override
+    public void write(CustomerDto customer) throws IOException {
+        try {
+            throttle.acquire(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedIOException("Export was interrupted");
+        }
+
+        writer.write(customer);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,40 @@
+package com.earlycharlemagne.customerapi.customer.id;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Generates and parses customer globalIds. New ids are version 7 UUIDs, which start with the creation time, so ids
+ * created around the same time sort next to each other and inserts land on the rightmost pages of the
+ * {@code global_id} index instead of anywhere in it.
+ */
+public final class GlobalIds {
+    private static final UuidV7Generator GENERATOR = new UuidV7Generator();
+    private static final int CANONICAL_LENGTH = 36;
+
+    private GlobalIds() {
+    }
+
+    public static UUID generate() {
+        return GENERATOR.next(System.currentTimeMillis());
+    }
+
+    /**
+     * Only the canonical lower-case form is accepted, so a customer is reachable under exactly one id, as it was
+     * when ids were compared as text, and is cached under one key.
+     */
+    public static Optional<UUID> parse(String globalId) {
+        if (globalId == null || globalId.length() != CANONICAL_LENGTH) {
+            return Optional.empty();
+        }
+
+        try {
+            UUID uuid = UUID.fromString(globalId);
+
+            return uuid.toString()
+                       .equals(globalId) ? Optional.of(uuid) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
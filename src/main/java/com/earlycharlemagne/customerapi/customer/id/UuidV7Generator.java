@@ -0,0 +1,33 @@
+package com.earlycharlemagne.customerapi.customer.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version 7 UUIDs: 48 bits of Unix time in milliseconds, the version, a 12 bit counter and 62 random bits after the
+ * variant. The counter restarts at zero every millisecond and counts up within one, so ids from one generator are
+ * strictly increasing and B-tree inserts append to the rightmost leaf instead of splitting it in half. When the
+ * counter runs out, or the clock goes backwards, the timestamp is borrowed from the next millisecond.
+ */
+class UuidV7Generator {
+    private static final long VERSION_7 = 0x7000L;
+    private static final long COUNTER_MASK = 0x0FFFL;
+
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong lastMostSignificantBits = new AtomicLong();
+
+    UUID next(long unixTimeMillis) {
+        long mostSignificantBits = lastMostSignificantBits.updateAndGet(last -> {
+            long first = unixTimeMillis << 16 | VERSION_7;
+            if (first > last) {
+                return first;
+            }
+
+            return (last & COUNTER_MASK) == COUNTER_MASK ? ((last >>> 16) + 1) << 16 | VERSION_7 : last + 1;
+        });
+        long leastSignificantBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,6 @@
+package com.earlycharlemagne.customerapi.customer.idempotency;
+
+import java.util.UUID;
+
+public record IdempotencyKey(String requestHash, UUID globalId) {
+}
@@ -0,0 +1,30 @@
+package com.earlycharlemagne.customerapi.customer.idempotency;
+
+import java.time.Instant;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes idempotency keys older than the retention; a request retried after that is handled as a new one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanup {
+    private static final String CLEANUP_INTERVAL = "#{@idempotencyProperties.cleanupInterval.toMillis()}";
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+
+    @Scheduled(fixedDelayString = CLEANUP_INTERVAL, initialDelayString = CLEANUP_INTERVAL)
+    public void deleteExpiredKeys() {
+        int deleted = repository.deleteCreatedBefore(Instant.now()
+                                                            .minus(properties.getRetention()));
+
+        log.info("Deleted [{}] expired idempotency keys", deleted);
+    }
+}
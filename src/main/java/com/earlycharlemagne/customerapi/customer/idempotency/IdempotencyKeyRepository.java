@@ -0,0 +1,50 @@
+package com.earlycharlemagne.customerapi.customer.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+    private static final String CLAIM = """
+        insert into customer_idempotency_keys (idempotency_key, request_hash, global_id)
+        values (:idempotencyKey, :requestHash, :globalId)
+        on conflict (idempotency_key) do nothing
+        """;
+    private static final String FIND = "select request_hash, global_id from customer_idempotency_keys where idempotency_key = :idempotencyKey";
+    private static final String DELETE_CREATED_BEFORE = "delete from customer_idempotency_keys where created_at < :createdBefore";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Binds the key to the given request and globalId unless it is already bound, in which case the existing binding
+     * is returned. A concurrent claim of the same key waits on the primary key until the first transaction ends, so
+     * it either sees the committed binding or, after a rollback, claims the key itself. Requires a surrounding
+     * transaction.
+     */
+    public Optional<IdempotencyKey> claim(String idempotencyKey, String requestHash, UUID globalId) {
+        var parameters = new MapSqlParameterSource().addValue("idempotencyKey", idempotencyKey)
+                                                    .addValue("requestHash", requestHash)
+                                                    .addValue("globalId", globalId);
+
+        if (jdbcTemplate.update(CLAIM, parameters) == 1) {
+            return Optional.empty();
+        }
+
+        return jdbcTemplate.query(FIND, parameters, (row, rowNumber) -> new IdempotencyKey(row.getString("request_hash"), row.getObject("global_id", UUID.class)))
+                           .stream()
+                           .findFirst();
+    }
+
+    public int deleteCreatedBefore(Instant createdBefore) {
+        return jdbcTemplate.update(DELETE_CREATED_BEFORE, new MapSqlParameterSource("createdBefore", Timestamp.from(createdBefore)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.earlycharlemagne.customerapi.customer.idempotency;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("customerapi.idempotency")
+public class IdempotencyProperties {
+    private Duration retention = Duration.ofHours(24);
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,330 @@
+package com.earlycharlemagne.customerapi.customer.ingestion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChangeType;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.IngestionStatus;
+import com.earlycharlemagne.customerapi.customer.dto.IngestionStatusResponse;
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+import com.earlycharlemagne.customerapi.customer.exception.CustomerNotFoundException;
+import com.earlycharlemagne.customerapi.customer.exception.IngestionQueueFullException;
+import com.earlycharlemagne.customerapi.customer.id.GlobalIds;
+import com.earlycharlemagne.customerapi.customer.lookup.CustomerLookupFilter;
+import com.earlycharlemagne.customerapi.customer.outbox.CustomerChangeRepository;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind customer creation for bursts of sign-ups. Accepting a customer only assigns its globalId and puts it
+ * on a bounded queue; a single writer thread drains the queue and inserts up to a batch of customers per statement.
+ * When the queue is full new customers are turned away rather than buffered without limit.
+ * <p>
+ * Creation statuses are kept in memory for the status retention. With the journal enabled, accepted customers are
+ * also appended to it before they are acknowledged and written again on the next start if the process stopped
+ * before the writer got to them.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "customerapi.ingestion.enabled", havingValue = "true")
+public class CustomerIngestionService implements SmartLifecycle {
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final CustomerRepository repository;
+    private final CustomerService customerService;
+    private final CustomerLookupFilter lookupFilter;
+    private final CustomerChangeRepository changeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final BlockingQueue<CustomerDto> queue;
+    private final Cache<String, IngestionStatus> statuses;
+    private final IngestionJournal journal;
+    private final Object acceptLock = new Object();
+    private volatile boolean running;
+    private volatile boolean journalReplayed;
+    private Thread writer;
+
+    public CustomerIngestionService(CustomerRepository repository,
+                                    CustomerService customerService,
+                                    CustomerLookupFilter lookupFilter,
+                                    CustomerChangeRepository changeRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    IngestionProperties properties,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) throws IOException {
+        this.repository = repository;
+        this.customerService = customerService;
+        this.lookupFilter = lookupFilter;
+        this.changeRepository = changeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.getBatchSize();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                                .expireAfterWrite(properties.getStatusRetention())
+                                .maximumSize(properties.getStatusMaxSize())
+                                .build();
+        IngestionProperties.Journal journalProperties = properties.getJournal();
+        this.journal = journalProperties.isEnabled() ? new IngestionJournal(journalProperties.getPath(), journalProperties.isFsync(), objectMapper) : null;
+
+        Gauge.builder("customer.ingestion.queue.size", queue, Collection::size)
+             .description("Customers accepted for creation and not yet written")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Assigns the customer its globalId and queues it for writing. The customer is validated but not checked
+     * against existing emails; a duplicate shows up as {@link IngestionStatus#CUSTOMER_EXISTS} in its status.
+     */
+    public String accept(CustomerDto customerDto) {
+        CustomerDto customer = customerDto.toBuilder()
+                                          .id(GlobalIds.generate()
+                                                       .toString())
+                                          .build();
+        statuses.put(customer.getId(), IngestionStatus.PENDING);
+        lookupFilter.add(customer.getId(), customer.getEmail());
+
+        synchronized (acceptLock) {
+            if (!running || queue.remainingCapacity() == 0) {
+                statuses.invalidate(customer.getId());
+                throw new IngestionQueueFullException("Ingestion queue is full, customer [%s] was not accepted".formatted(customer.getId()));
+            }
+
+            appendToJournal(customer);
+            queue.add(customer);
+        }
+
+        return customer.getId();
+    }
+
+    /**
+     * Customers whose status has expired are looked up in the database, so only unknown or never written customers
+     * are not found.
+     */
+    public IngestionStatusResponse getStatus(String globalId) {
+        IngestionStatus status = statuses.getIfPresent(globalId);
+        if (status != null) {
+            return new IngestionStatusResponse(globalId, status);
+        }
+
+        return GlobalIds.parse(globalId)
+                        .filter(id -> !repository.findExistingGlobalIds(Set.of(id))
+                                                 .isEmpty())
+                        .map(id -> new IngestionStatusResponse(globalId, IngestionStatus.CREATED))
+                        .orElseThrow(() -> new CustomerNotFoundException("Customer with globalId [%s] does not exist".formatted(globalId)));
+    }
+
+    /**
+     * Starts before the web server, whose phase is {@code DEFAULT_PHASE - 2048}, so journaled customers are queued
+     * again before new ones are accepted. Stopping after it means no customer is accepted once the queue drains.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform()
+                       .name("customer-ingestion-writer")
+                       .start(this::writeQueuedCustomers);
+        replayJournal();
+    }
+
+    /**
+     * Stops accepting customers and waits for the writer to drain the queue.
+     */
+    @Override
+    public void stop() {
+        synchronized (acceptLock) {
+            running = false;
+        }
+
+        try {
+            writer.join();
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        } catch (IOException e) {
+            log.warn("Failed to close ingestion journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void replayJournal() {
+        if (journal == null) {
+            journalReplayed = true;
+            return;
+        }
+
+        try {
+            List<CustomerDto> customers = journal.readAll();
+            for (CustomerDto customer : customers) {
+                statuses.put(customer.getId(), IngestionStatus.PENDING);
+                lookupFilter.add(customer.getId(), customer.getEmail());
+                queue.put(customer);
+            }
+            journalReplayed = true;
+
+            log.info("Queued [{}] customers from the ingestion journal", customers.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private void writeQueuedCustomers() {
+        List<CustomerDto> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                CustomerDto first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!write(batch)) {
+                    return;
+                }
+                batch.clear();
+                truncateJournalIfDrained();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retries until the batch is written, unless the service is stopping, in which case the customers are left to
+     * the journal.
+     */
+    private boolean write(List<CustomerDto> batch) throws InterruptedException {
+        List<Customer> customers = batch.stream()
+                                        .map(this::mapToCustomer)
+                                        .toList();
+
+        while (true) {
+            try {
+                Set<UUID> inserted = transactionTemplate.execute(status -> insertAndRecord(customers));
+                Set<UUID> alreadyWritten = findAlreadyWritten(customers, inserted);
+                for (Customer customer : customers) {
+                    boolean created = inserted.contains(customer.getGlobalId()) || alreadyWritten.contains(customer.getGlobalId());
+                    statuses.put(customer.getGlobalId()
+                                         .toString(), created ? IngestionStatus.CREATED : IngestionStatus.CUSTOMER_EXISTS);
+                }
+
+                return true;
+            } catch (DataAccessException | TransactionException e) {
+                if (!running) {
+                    log.error("Failed to write [{}] queued customers while stopping, they are left to the journal", customers.size(), e);
+                    return false;
+                }
+
+                log.error("Failed to write [{}] queued customers, retrying", customers.size(), e);
+                Thread.sleep(RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private Set<UUID> insertAndRecord(List<Customer> customers) {
+        Set<UUID> inserted = repository.insertAllIfAbsent(customers);
+        changeRepository.record(CustomerChangeType.CREATED, inserted);
+
+        return inserted;
+    }
+
+    /**
+     * Customers that weren't inserted either conflict with another customer's email or were written before, when
+     * they are replayed from the journal. Only the latter are in the table under their own globalId.
+     */
+    private Set<UUID> findAlreadyWritten(List<Customer> customers, Set<UUID> inserted) {
+        if (inserted.size() == customers.size()) {
+            return Set.of();
+        }
+
+        return repository.findExistingGlobalIds(customers.stream()
+                                                         .map(Customer::getGlobalId)
+                                                         .filter(globalId -> !inserted.contains(globalId))
+                                                         .toList());
+    }
+
+    private Customer mapToCustomer(CustomerDto customerDto) {
+        Customer customer = customerService.mapToCustomer(customerDto);
+        customer.setGlobalId(UUID.fromString(customerDto.getId()));
+
+        return customer;
+    }
+
+    private void appendToJournal(CustomerDto customer) {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            journal.append(customer);
+        } catch (IOException e) {
+            statuses.invalidate(customer.getId());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Everything in the journal has been written once the queue is empty and the writer holds no batch, which is
+     * the case when this runs. Accepting holds the same lock, so no customer can be journaled in between.
+     */
+    private void truncateJournalIfDrained() {
+        if (journal == null || !journalReplayed) {
+            return;
+        }
+
+        synchronized (acceptLock) {
+            if (!queue.isEmpty()) {
+                return;
+            }
+
+            try {
+                journal.truncate();
+            } catch (IOException e) {
+                log.warn("Failed to truncate ingestion journal", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.earlycharlemagne.customerapi.customer.ingestion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Append-only file of accepted customers, one JSON document per line, so customers still queued when the process
+ * dies are written on the next start. Without fsync a record survives a crash of the process but not of the machine;
+ * with fsync it survives both, at the cost of a disk flush per accepted customer.
+ */
+class IngestionJournal implements Closeable {
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+
+    IngestionJournal(Path path, boolean fsync, ObjectMapper objectMapper) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+        channel.position(channel.size());
+    }
+
+    void append(CustomerDto customer) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(customer) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Reads every complete record. A line left incomplete by a crash during the write is dropped from the file, so
+     * later records start on a line of their own.
+     */
+    List<CustomerDto> readAll() throws IOException {
+        ByteBuffer content = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        while (content.hasRemaining()) {
+            if (channel.read(content, content.position()) < 0) {
+                break;
+            }
+        }
+
+        List<CustomerDto> customers = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < content.position(); i++) {
+            if (content.get(i) == '\n') {
+                customers.add(objectMapper.readValue(content.array(), lineStart, i - lineStart, CustomerDto.class));
+                lineStart = i + 1;
+            }
+        }
+        channel.truncate(lineStart);
+        channel.position(lineStart);
+
+        return customers;
+    }
+
+    void truncate() throws IOException {
+        channel.truncate(0);
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,31 @@
+package com.earlycharlemagne.customerapi.customer.ingestion;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("customerapi.ingestion")
+public class IngestionProperties {
+    private boolean enabled;
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private Duration statusRetention = Duration.ofHours(1);
+    private long statusMaxSize = 100_000;
+    private Journal journal = new Journal();
+
+    @Getter
+    @Setter
+    public static class Journal {
+        private boolean enabled;
+        private Path path = Path.of("ingestion.journal");
+        private boolean fsync;
+    }
+}
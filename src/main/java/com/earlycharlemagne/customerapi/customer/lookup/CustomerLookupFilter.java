@@ -0,0 +1,83 @@
+package com.earlycharlemagne.customerapi.customer.lookup;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.earlycharlemagne.customerapi.customer.repository.CustomerKeys;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory membership filter over the globalIds and emails in the {@code customers} table, so lookups for
+ * customers that certainly don't exist can be answered without a query. It is loaded once the application is
+ * ready and kept current by the service's insert paths; until it is loaded, or when disabled, every value
+ * might exist.
+ * <p>
+ * The filter only knows about rows inserted through this instance after startup, so it must stay disabled when
+ * several instances write to the same database or rows are inserted outside the API.
+ */
+@Slf4j
+@Component
+public class CustomerLookupFilter {
+    private final CustomerRepository repository;
+    private final boolean enabled;
+    private final BloomFilter globalIds;
+    private final BloomFilter emails;
+    private volatile boolean loaded;
+
+    public CustomerLookupFilter(CustomerRepository repository, LookupFilterProperties properties) {
+        this.repository = repository;
+        this.enabled = properties.isEnabled();
+        this.globalIds = new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveProbability());
+        this.emails = new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveProbability());
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long count = 0;
+        try (Stream<CustomerKeys> keys = repository.streamKeysBy()) {
+            Iterator<CustomerKeys> iterator = keys.iterator();
+            while (iterator.hasNext()) {
+                CustomerKeys key = iterator.next();
+                add(key.getGlobalId().toString(), key.getEmail());
+                count++;
+            }
+        }
+        loaded = true;
+
+        log.info("Loaded customer lookup filter with [{}] customers", count);
+    }
+
+    public void add(String globalId, String email) {
+        if (globalId != null) {
+            globalIds.put(globalId);
+        }
+        if (email != null) {
+            emails.put(normalize(email));
+        }
+    }
+
+    public boolean mightContainGlobalId(String globalId) {
+        return !loaded || globalIds.mightContain(globalId);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !loaded || emails.mightContain(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
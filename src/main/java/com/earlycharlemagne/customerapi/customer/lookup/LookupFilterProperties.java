@@ -0,0 +1,17 @@
+package com.earlycharlemagne.customerapi.customer.lookup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("customerapi.lookup-filter")
+public class LookupFilterProperties {
+    private boolean enabled;
+    private long expectedInsertions = 1_000_000;
+    private double falsePositiveProbability = 0.01;
+}
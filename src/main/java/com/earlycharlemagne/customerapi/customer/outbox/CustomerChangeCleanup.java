@@ -0,0 +1,30 @@
+package com.earlycharlemagne.customerapi.customer.outbox;
+
+import java.time.Instant;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes published changes older than the retention; feed consumers further behind than that have to resync.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerChangeCleanup {
+    private static final String CLEANUP_INTERVAL = "#{@outboxProperties.cleanupInterval.toMillis()}";
+
+    private final CustomerChangeRepository repository;
+    private final OutboxProperties properties;
+
+    @Scheduled(fixedDelayString = CLEANUP_INTERVAL, initialDelayString = CLEANUP_INTERVAL)
+    public void deleteExpiredChanges() {
+        int deleted = repository.deletePublishedBefore(Instant.now()
+                                                              .minus(properties.getRetention()));
+
+        log.info("Deleted [{}] expired customer changes", deleted);
+    }
+}
@@ -0,0 +1,104 @@
+package com.earlycharlemagne.customerapi.customer.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes recorded customer changes in batches, oldest first. Each batch is given its positions, handed to the
+ * sinks and marked as published in one transaction, so a batch a sink fails on is published again in the next run
+ * under new positions. Only one relay runs at a time across instances.
+ */
+@Slf4j
+@Component
+public class CustomerChangeRelay {
+    private static final String RELAY_INTERVAL = "#{@outboxProperties.relayInterval.toMillis()}";
+
+    private final CustomerChangeRepository repository;
+    private final List<CustomerChangeSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter published;
+
+    public CustomerChangeRelay(CustomerChangeRepository repository,
+                               ObjectProvider<CustomerChangeSink> sinks,
+                               PlatformTransactionManager transactionManager,
+                               OutboxProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.sinks = sinks.orderedStream()
+                          .toList();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.getBatchSize();
+        this.published = Counter.builder("customer.changes.published")
+                                .description("Customer changes published by the outbox relay")
+                                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = RELAY_INTERVAL, initialDelayString = RELAY_INTERVAL)
+    public void relay() {
+        try {
+            while (publishBatch() == batchSize) {
+                log.debug("Published a full batch of customer changes, continuing");
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to publish customer changes, retrying in the next run", e);
+        }
+    }
+
+    /**
+     * Returns the number of changes published, which is less than a batch once the outbox is drained.
+     */
+    public int publishBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            if (!repository.tryLockRelay()) {
+                return 0;
+            }
+
+            List<CustomerChange> unpublished = repository.findUnpublished(batchSize);
+            if (unpublished.isEmpty()) {
+                return 0;
+            }
+
+            List<Long> ids = unpublished.stream()
+                                        .map(CustomerChange::position)
+                                        .toList();
+            List<Long> positions = repository.nextPositions(unpublished.size());
+            repository.setPositions(ids, positions);
+
+            List<CustomerChange> changes = new ArrayList<>(unpublished.size());
+            for (int i = 0; i < unpublished.size(); i++) {
+                CustomerChange change = unpublished.get(i);
+                changes.add(new CustomerChange(positions.get(i), change.id(), change.type(), change.version(), change.customer(), change.changedAt()));
+            }
+            publish(changes);
+
+            return changes.size();
+        });
+        published.increment(count);
+
+        return count;
+    }
+
+    private void publish(List<CustomerChange> changes) {
+        for (CustomerChangeSink sink : sinks) {
+            try {
+                sink.publish(changes);
+            } catch (Exception e) {
+                throw new IllegalStateException("Sink [%s] failed to publish [%d] customer changes".formatted(sink.getClass()
+                                                                                                                    .getSimpleName(), changes.size()), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.earlycharlemagne.customerapi.customer.outbox;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChange;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChangeType;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerChangeRepository {
+    private static final String RECORD = """
+        insert into customer_changes (global_id, change_type, version, customer)
+        select global_id, :changeType, version,
+               jsonb_build_object('id', global_id, 'firstName', first_name, 'lastName', last_name, 'email', email,
+                                  'age', age, 'address', address)
+        from customers
+        where global_id in (:globalIds)
+        order by id
+        """;
+    /**
+     * Transaction-scoped, so it is released with the transaction of the relay run that took it.
+     */
+    private static final String TRY_LOCK_RELAY = "select pg_try_advisory_xact_lock(hashtext('customer_changes_relay'))";
+    private static final String FIND_UNPUBLISHED = """
+        select id as position, global_id, change_type, version, customer, created_at
+        from customer_changes
+        where position is null
+        order by id
+        limit :limit
+        """;
+    private static final String NEXT_POSITIONS = "select nextval('customer_changes_position_seq') from generate_series(1, :count)";
+    private static final String SET_POSITIONS = """
+        update customer_changes c
+        set position = p.position
+        from unnest(:ids::bigint[], :positions::bigint[]) as p (id, position)
+        where c.id = p.id
+        """;
+    private static final String FIND_PUBLISHED_AFTER = """
+        select position, global_id, change_type, version, customer, created_at
+        from customer_changes
+        where position > :since
+        order by position
+        limit :limit
+        """;
+    private static final String DELETE_PUBLISHED_BEFORE = "delete from customer_changes where position is not null and created_at < :createdBefore";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Records the current state of the customers as a change. Runs after the change itself, in its transaction,
+     * so the change and its record commit together. Pending entity changes are flushed first.
+     */
+    public void record(CustomerChangeType changeType, Collection<UUID> globalIds) {
+        if (globalIds.isEmpty()) {
+            return;
+        }
+
+        entityManager.flush();
+
+        var parameters = new MapSqlParameterSource().addValue("changeType", changeType.name())
+                                                    .addValue("globalIds", globalIds);
+        jdbcTemplate.update(RECORD, parameters);
+    }
+
+    /**
+     * Lets one relay run at a time. Returns {@code false} when another instance's relay holds the lock.
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.getJdbcOperations()
+                                               .queryForObject(TRY_LOCK_RELAY, Boolean.class));
+    }
+
+    /**
+     * Oldest unpublished changes first. Their position is still unassigned, so it holds the outbox id instead.
+     */
+    public List<CustomerChange> findUnpublished(int limit) {
+        return jdbcTemplate.query(FIND_UNPUBLISHED, new MapSqlParameterSource("limit", limit), CustomerChangeRepository::mapRow);
+    }
+
+    /**
+     * Draws the next positions in increasing order.
+     */
+    public List<Long> nextPositions(int count) {
+        return jdbcTemplate.queryForList(NEXT_POSITIONS, new MapSqlParameterSource("count", count), Long.class)
+                           .stream()
+                           .sorted()
+                           .toList();
+    }
+
+    public void setPositions(List<Long> ids, List<Long> positions) {
+        var parameters = new MapSqlParameterSource().addValue("ids", ids.toArray(Long[]::new))
+                                                    .addValue("positions", positions.toArray(Long[]::new));
+        jdbcTemplate.update(SET_POSITIONS, parameters);
+    }
+
+    public List<CustomerChange> findPublishedAfter(long since, int limit) {
+        var parameters = new MapSqlParameterSource().addValue("since", since)
+                                                    .addValue("limit", limit);
+
+        return jdbcTemplate.query(FIND_PUBLISHED_AFTER, parameters, CustomerChangeRepository::mapRow);
+    }
+
+    public int deletePublishedBefore(Instant createdBefore) {
+        return jdbcTemplate.update(DELETE_PUBLISHED_BEFORE, new MapSqlParameterSource("createdBefore", Timestamp.from(createdBefore)));
+    }
+
+    private static CustomerChange mapRow(ResultSet row, int rowNumber) throws SQLException {
+        return new CustomerChange(row.getLong("position"),
+                                  row.getObject("global_id", UUID.class),
+                                  CustomerChangeType.valueOf(row.getString("change_type")),
+                                  row.getLong("version"),
+                                  row.getString("customer"),
+                                  row.getTimestamp("created_at")
+                                     .toInstant());
+    }
+}
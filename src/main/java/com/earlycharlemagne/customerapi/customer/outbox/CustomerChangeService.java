@@ -0,0 +1,32 @@
+package com.earlycharlemagne.customerapi.customer.outbox;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChange;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChangePage;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class CustomerChangeService {
+    private final CustomerChangeRepository repository;
+
+    /**
+     * Published changes after the given position. Positions are assigned in publication order and become visible in
+     * that order, so a consumer that passes back the returned {@code since} doesn't miss changes.
+     */
+    @Timed("customer.service")
+    @Transactional(readOnly = true)
+    public CustomerChangePage getChanges(long since, int limit) {
+        List<CustomerChange> changes = repository.findPublishedAfter(since, limit);
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1)
+                                                            .position();
+
+        return new CustomerChangePage(changes, nextSince);
+    }
+}
@@ -0,0 +1,17 @@
+package com.earlycharlemagne.customerapi.customer.outbox;
+
+import java.util.List;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChange;
+
+/**
+ * Destination of published customer changes, such as a message broker. Changes arrive in position order and at
+ * least once: a batch is published again if the relay fails before it has recorded the batch as published, so
+ * consumers should skip positions they have already seen.
+ */
+public interface CustomerChangeSink {
+    /**
+     * Returns once the sink has accepted the changes; throwing leaves them to be published again.
+     */
+    void publish(List<CustomerChange> changes) throws Exception;
+}
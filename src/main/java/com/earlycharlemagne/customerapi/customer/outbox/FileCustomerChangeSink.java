@@ -0,0 +1,37 @@
+package com.earlycharlemagne.customerapi.customer.outbox;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appends published changes to a file as NDJSON, one change per line.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "customerapi.outbox.file-sink.enabled", havingValue = "true")
+public class FileCustomerChangeSink implements CustomerChangeSink {
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<CustomerChange> changes) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(properties.getFileSink()
+                                                                         .getPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (CustomerChange change : changes) {
+                outputStream.write(objectMapper.writeValueAsBytes(change));
+                outputStream.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.earlycharlemagne.customerapi.customer.outbox;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("customerapi.outbox")
+public class OutboxProperties {
+    private int batchSize = 500;
+    private Duration relayInterval = Duration.ofSeconds(1);
+    private Duration retention = Duration.ofDays(7);
+    private Duration cleanupInterval = Duration.ofHours(1);
+    private FileSink fileSink = new FileSink();
+
+    @Getter
+    @Setter
+    public static class FileSink {
+        private boolean enabled = false;
+        private Path path = Path.of("customer-changes.ndjson");
+    }
+}
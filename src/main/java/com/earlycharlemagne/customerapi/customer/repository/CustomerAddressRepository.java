@@ -0,0 +1,13 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.util.List;
+
+import com.earlycharlemagne.customerapi.customer.dto.AddressUpdateRequest;
+
+public interface CustomerAddressRepository {
+    /**
+     * Applies all address updates in a single JDBC batch and returns the number of rows changed by each one,
+     * in request order. The ids must be valid UUIDs. Requires a surrounding transaction.
+     */
+    int[] updateAddresses(List<AddressUpdateRequest> addressUpdates);
+}
@@ -0,0 +1,49 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.earlycharlemagne.customerapi.customer.dto.AddressUpdateRequest;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class CustomerAddressRepositoryImpl implements CustomerAddressRepository {
+    private static final String UPDATE_ADDRESS = "update customers set address = ?, version = version + 1, updated_at = now() where global_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Flushes pending entity changes first and clears the persistence context afterwards, like
+     * {@code @Modifying(flushAutomatically = true, clearAutomatically = true)} does for JPQL updates.
+     */
+    @Override
+    public int[] updateAddresses(List<AddressUpdateRequest> addressUpdates) {
+        entityManager.flush();
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(UPDATE_ADDRESS, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                AddressUpdateRequest addressUpdate = addressUpdates.get(index);
+                statement.setString(1, addressUpdate.address());
+                statement.setObject(2, UUID.fromString(addressUpdate.id()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return addressUpdates.size();
+            }
+        });
+        entityManager.clear();
+
+        return updatedRows;
+    }
+}
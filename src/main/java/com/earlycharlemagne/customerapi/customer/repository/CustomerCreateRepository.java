@@ -0,0 +1,23 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+
+public interface CustomerCreateRepository {
+    /**
+     * Inserts the customer unless one with the same email, ignoring case, already exists. The check and the insert
+     * are a single statement, so concurrent creates with the same email can't both succeed. Returns the globalId of
+     * the new row, or empty when the email is taken.
+     */
+    Optional<UUID> insertIfEmailAbsent(Customer customer);
+
+    /**
+     * Inserts all customers that don't conflict with an existing row, or with one earlier in the list, in a single
+     * statement, and returns the globalIds of the rows inserted. Customers must have their globalId set.
+     */
+    Set<UUID> insertAllIfAbsent(List<Customer> customers);
+}
@@ -0,0 +1,130 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Both statements claim the emails in {@code customer_emails} first and only insert the customers whose email they
+ * could claim; the partitioned {@code customers} table can't enforce unique emails itself. Ids are drawn from the
+ * entity's own generator, so they come out of the same blocks of 50 as customers saved through JPA instead of
+ * spending a {@code customers_seq} value, and with it a whole block, on every row.
+ */
+@RequiredArgsConstructor
+class CustomerCreateRepositoryImpl implements CustomerCreateRepository {
+    private static final String INSERT_IF_EMAIL_ABSENT = """
+        with claimed as (
+            insert into customer_emails (email, global_id)
+            values (lower(:email), :globalId)
+            on conflict do nothing
+            returning global_id
+        )
+        insert into customers (id, global_id, first_name, last_name, email, age, address, updated_at)
+        select :id, global_id, :firstName, :lastName, :email, :age, :address, :updatedAt
+        from claimed
+        returning global_id
+        """;
+    /**
+     * A customer already written under its globalId claims nothing and is skipped, so writing the same customers
+     * again is harmless. Of two customers in the list with the same email only the first claims it.
+     */
+    private static final String INSERT_ALL_IF_ABSENT = """
+        with c as (
+            select *
+            from unnest(?::bigint[], ?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::integer[], ?::varchar[])
+                 with ordinality as c (id, global_id, first_name, last_name, email, age, address, position)
+        ),
+        claimed as (
+            insert into customer_emails (email, global_id)
+            select lower(email), global_id
+            from c
+            where not exists (select from customers where customers.global_id = c.global_id)
+            order by position
+            on conflict do nothing
+            returning global_id
+        )
+        insert into customers (id, global_id, first_name, last_name, email, age, address)
+        select id, global_id, first_name, last_name, email, age, address
+        from c
+        where global_id in (select global_id from claimed)
+        order by position
+        on conflict do nothing
+        returning global_id
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Flushes pending entity changes first so a customer saved earlier in the same transaction is seen as a conflict.
+     */
+    @Override
+    @Transactional
+    public Optional<UUID> insertIfEmailAbsent(Customer customer) {
+        entityManager.flush();
+
+        var parameters = new MapSqlParameterSource().addValue("id", generateId(customer))
+                                                    .addValue("globalId", customer.getGlobalId())
+                                                    .addValue("firstName", customer.getFirstName())
+                                                    .addValue("lastName", customer.getLastName())
+                                                    .addValue("email", customer.getEmail())
+                                                    .addValue("age", customer.getAge())
+                                                    .addValue("address", customer.getAddress())
+                                                    .addValue("updatedAt", Timestamp.from(customer.getUpdatedAt()));
+
+        return jdbcTemplate.queryForList(INSERT_IF_EMAIL_ABSENT, parameters, UUID.class)
+                           .stream()
+                           .findFirst();
+    }
+
+    /**
+     * The rows are passed as one array per column, so the statement is the same whatever the number of rows.
+     */
+    @Override
+    @Transactional
+    public Set<UUID> insertAllIfAbsent(List<Customer> customers) {
+        List<UUID> insertedGlobalIds = jdbcTemplate.getJdbcOperations()
+                                                   .queryForList(INSERT_ALL_IF_ABSENT, UUID.class,
+                                                                 column(customers, this::generateId, Long[]::new),
+                                                                 column(customers, Customer::getGlobalId, UUID[]::new),
+                                                                 column(customers, Customer::getFirstName, String[]::new),
+                                                                 column(customers, Customer::getLastName, String[]::new),
+                                                                 column(customers, Customer::getEmail, String[]::new),
+                                                                 column(customers, Customer::getAge, Integer[]::new),
+                                                                 column(customers, Customer::getAddress, String[]::new));
+
+        return new HashSet<>(insertedGlobalIds);
+    }
+
+    private Long generateId(Customer customer) {
+        var session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        var generator = (BeforeExecutionGenerator) session.getEntityPersister(null, customer)
+                                                          .getGenerator();
+
+        return (Long) generator.generate(session, customer, null, EventType.INSERT);
+    }
+
+    private static <T> T[] column(List<Customer> customers, Function<Customer, T> field, IntFunction<T[]> newArray) {
+        return customers.stream()
+                        .map(field)
+                        .toArray(newArray);
+    }
+}
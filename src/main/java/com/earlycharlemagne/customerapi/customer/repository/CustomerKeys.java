@@ -0,0 +1,8 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.util.UUID;
+
+public interface CustomerKeys {
+    UUID getGlobalId();
+    String getEmail();
+}
@@ -0,0 +1,17 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPatch;
+
+public interface CustomerPatchRepository {
+    /**
+     * Applies the patch with a single update that also bumps the version, and returns the patched customer. With
+     * expected versions the update only applies to the customer at one of those versions, so an empty result
+     * means the customer doesn't exist or was changed in the meantime. {@code null} applies the patch to any
+     * version. Requires a surrounding transaction.
+     */
+    Optional<CustomerView> patch(UUID globalId, CustomerPatch patch, Collection<Long> expectedVersions);
+}
@@ -0,0 +1,67 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPatch;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fields missing from the patch are bound as {@code null} and keep their column value through {@code coalesce};
+ * the patch itself never contains nulls.
+ */
+@RequiredArgsConstructor
+class CustomerPatchRepositoryImpl implements CustomerPatchRepository {
+    private static final String PATCH = """
+        update customers
+        set first_name = coalesce(:firstName, first_name),
+            last_name = coalesce(:lastName, last_name),
+            email = coalesce(:email, email),
+            age = coalesce(:age, age),
+            address = coalesce(:address, address),
+            version = version + 1,
+            updated_at = now()
+        where global_id = :globalId
+        """;
+    private static final String RETURNING = " returning " + CustomerViewRowMapper.COLUMNS;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Flushes pending entity changes first and clears the persistence context afterwards, so managed customers
+     * don't hide or overwrite the patch.
+     */
+    @Override
+    public Optional<CustomerView> patch(UUID globalId, CustomerPatch patch, Collection<Long> expectedVersions) {
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            return Optional.empty();
+        }
+
+        entityManager.flush();
+
+        var parameters = new MapSqlParameterSource().addValue("globalId", globalId)
+                                                    .addValue("firstName", patch.getFirstName(), Types.VARCHAR)
+                                                    .addValue("lastName", patch.getLastName(), Types.VARCHAR)
+                                                    .addValue("email", patch.getEmail(), Types.VARCHAR)
+                                                    .addValue("age", patch.getAge(), Types.INTEGER)
+                                                    .addValue("address", patch.getAddress(), Types.VARCHAR)
+                                                    .addValue("versions", expectedVersions);
+        String sql = expectedVersions == null ? PATCH + RETURNING : PATCH + " and version in (:versions)" + RETURNING;
+
+        Optional<CustomerView> patched = jdbcTemplate.query(sql, parameters, CustomerViewRowMapper.INSTANCE)
+                                                     .stream()
+                                                     .findFirst();
+        entityManager.clear();
+
+        return patched;
+    }
+}
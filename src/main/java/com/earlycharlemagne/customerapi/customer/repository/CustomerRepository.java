@@ -1,18 +1,62 @@
 package com.earlycharlemagne.customerapi.customer.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.earlycharlemagne.customerapi.customer.entity.Customer;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    List<Customer> findByFirstNameIgnoreCase(String firstName);
-    List<Customer> findByLastNameIgnoreCase(String lastName);
-    List<Customer> findByFirstNameIgnoreCaseAndLastNameIgnoreCase(String firstName, String lastName);
-    Optional<Customer> findByGlobalId(String globalId);
-    boolean existsByEmail(String email);
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerAddressRepository, CustomerCreateRepository, CustomerPatchRepository, CustomerSearchRepository {
+    String SELECT_CUSTOMER_VIEW = "select new com.earlycharlemagne.customerapi.customer.repository.CustomerView(c.id, c.globalId, c.firstName, c.lastName, c.email, c.age, c.address, c.version, c.updatedAt) from Customer c ";
+
+    @Query(SELECT_CUSTOMER_VIEW + "where c.id > :id order by c.id")
+    List<CustomerView> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+    @Query(SELECT_CUSTOMER_VIEW + "where lower(c.firstName) = lower(:firstName) and c.id > :id order by c.id")
+    List<CustomerView> findByFirstNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
+    @Query(SELECT_CUSTOMER_VIEW + "where lower(c.lastName) = lower(:lastName) and c.id > :id order by c.id")
+    List<CustomerView> findByLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+    @Query(SELECT_CUSTOMER_VIEW + "where lower(c.firstName) = lower(:firstName) and lower(c.lastName) = lower(:lastName) and c.id > :id order by c.id")
+    List<CustomerView> findByFirstNameIgnoreCaseAndLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(@Param("firstName") String firstName, @Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_CUSTOMER_VIEW + "order by c.id")
+    Stream<CustomerView> streamAllByOrderByIdAsc();
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_CUSTOMER_VIEW + "where c.id >= :fromId and c.id < :toId order by c.id")
+    Stream<CustomerView> streamByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+    @Query("select min(c.id) from Customer c")
+    Optional<Long> findMinId();
+    @Query("select max(c.id) from Customer c")
+    Optional<Long> findMaxId();
+    /**
+     * Transaction-scoped: held until the transaction of the export run that took it ends.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('customer_export_job'))", nativeQuery = true)
+    boolean tryLockExportJob();
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<CustomerKeys> streamKeysBy();
+    @Query(SELECT_CUSTOMER_VIEW + "where c.globalId = :globalId")
+    Optional<CustomerView> findViewByGlobalId(@Param("globalId") UUID globalId);
+    Optional<Customer> findByGlobalId(UUID globalId);
+    boolean existsByGlobalId(UUID globalId);
+    @Query("select c.globalId from Customer c where c.globalId in :globalIds")
+    Set<UUID> findExistingGlobalIds(@Param("globalIds") Collection<UUID> globalIds);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Customer c set c.address = :address, c.version = c.version + 1, c.updatedAt = current_timestamp where c.globalId = :globalId")
+    int updateAddressByGlobalId(@Param("globalId") UUID globalId, @Param("address") String address);
 }
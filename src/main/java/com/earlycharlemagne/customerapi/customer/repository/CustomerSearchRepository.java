@@ -0,0 +1,11 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.util.List;
+
+public interface CustomerSearchRepository {
+    /**
+     * Finds customers whose names or email contain the query or closely resemble it, best matches first.
+     * Expects the query lower-cased; it needs at least three characters to be served from the trigram index.
+     */
+    List<CustomerView> search(String query, int limit);
+}
@@ -0,0 +1,41 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Both conditions are answered by the {@code customers_search_trgm_idx} GIN index: {@code like} for substrings
+ * such as an email fragment, and the word similarity operator {@code <%} for prefixes and typos.
+ */
+@RequiredArgsConstructor
+class CustomerSearchRepositoryImpl implements CustomerSearchRepository {
+    private static final String SEARCH = """
+        select id, global_id, first_name, last_name, email, age, address, version, updated_at
+        from customers
+        where lower(first_name || ' ' || last_name || ' ' || email) like :pattern
+           or :query <% lower(first_name || ' ' || last_name || ' ' || email)
+        order by word_similarity(:query, lower(first_name || ' ' || last_name || ' ' || email)) desc, id
+        limit :limit
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<CustomerView> search(String query, int limit) {
+        var parameters = new MapSqlParameterSource().addValue("query", query)
+                                                    .addValue("pattern", "%" + escapeLikePattern(query) + "%")
+                                                    .addValue("limit", limit);
+
+        return jdbcTemplate.query(SEARCH, parameters, CustomerViewRowMapper.INSTANCE);
+    }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+    }
+}
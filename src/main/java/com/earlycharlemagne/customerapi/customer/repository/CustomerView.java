@@ -0,0 +1,11 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a customer row. Queries select straight into it, so reads don't go through managed
+ * entities and the persistence context.
+ */
+public record CustomerView(Long id, UUID globalId, String firstName, String lastName, String email, Integer age, String address,
+                           long version, Instant updatedAt) {}
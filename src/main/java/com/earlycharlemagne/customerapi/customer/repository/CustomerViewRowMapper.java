@@ -0,0 +1,32 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Maps the {@code customers} columns of {@link CustomerView} for the JDBC repository fragments.
+ */
+class CustomerViewRowMapper implements RowMapper<CustomerView> {
+    static final CustomerViewRowMapper INSTANCE = new CustomerViewRowMapper();
+    static final String COLUMNS = "id, global_id, first_name, last_name, email, age, address, version, updated_at";
+
+    private CustomerViewRowMapper() {
+    }
+
+    @Override
+    public CustomerView mapRow(ResultSet row, int rowNumber) throws SQLException {
+        return new CustomerView(row.getLong("id"),
+                                row.getObject("global_id", UUID.class),
+                                row.getString("first_name"),
+                                row.getString("last_name"),
+                                row.getString("email"),
+                                row.getObject("age", Integer.class),
+                                row.getString("address"),
+                                row.getLong("version"),
+                                row.getTimestamp("updated_at")
+                                   .toInstant());
+    }
+}
@@ -0,0 +1,83 @@
+package com.earlycharlemagne.customerapi.customer.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of the {@link CustomerRepository} read queries. Lists are keyset pages of at most
+ * {@code limit} rows after {@code afterId}, like their JPA counterparts.
+ */
+@Profile("reactive")
+@Repository
+@RequiredArgsConstructor
+public class ReactiveCustomerRepository {
+    private static final String SELECT_CUSTOMERS = "select id, first_name, last_name, email, age, address, global_id, version, updated_at from customers";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<CustomerView> findByIdGreaterThanOrderByIdAsc(long afterId, int limit) {
+        return databaseClient.sql(SELECT_CUSTOMERS + " where id > :afterId order by id limit :limit")
+                             .bind("afterId", afterId)
+                             .bind("limit", limit)
+                             .map(this::mapRow)
+                             .all();
+    }
+
+    public Flux<CustomerView> findByFirstNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(String firstName, long afterId, int limit) {
+        return databaseClient.sql(SELECT_CUSTOMERS + " where lower(first_name) = lower(:firstName) and id > :afterId order by id limit :limit")
+                             .bind("firstName", firstName)
+                             .bind("afterId", afterId)
+                             .bind("limit", limit)
+                             .map(this::mapRow)
+                             .all();
+    }
+
+    public Flux<CustomerView> findByLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(String lastName, long afterId, int limit) {
+        return databaseClient.sql(SELECT_CUSTOMERS + " where lower(last_name) = lower(:lastName) and id > :afterId order by id limit :limit")
+                             .bind("lastName", lastName)
+                             .bind("afterId", afterId)
+                             .bind("limit", limit)
+                             .map(this::mapRow)
+                             .all();
+    }
+
+    public Flux<CustomerView> findByFirstNameIgnoreCaseAndLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(String firstName, String lastName, long afterId,
+                                                                                                         int limit) {
+        return databaseClient.sql(SELECT_CUSTOMERS + " where lower(first_name) = lower(:firstName) and lower(last_name) = lower(:lastName) and id > :afterId"
+                                  + " order by id limit :limit")
+                             .bind("firstName", firstName)
+                             .bind("lastName", lastName)
+                             .bind("afterId", afterId)
+                             .bind("limit", limit)
+                             .map(this::mapRow)
+                             .all();
+    }
+
+    public Mono<CustomerView> findByGlobalId(UUID globalId) {
+        return databaseClient.sql(SELECT_CUSTOMERS + " where global_id = :globalId")
+                             .bind("globalId", globalId)
+                             .map(this::mapRow)
+                             .one();
+    }
+
+    private CustomerView mapRow(Readable row) {
+        return new CustomerView(row.get("id", Long.class),
+                                row.get("global_id", UUID.class),
+                                row.get("first_name", String.class),
+                                row.get("last_name", String.class),
+                                row.get("email", String.class),
+                                row.get("age", Integer.class),
+                                row.get("address", String.class),
+                                row.get("version", Long.class),
+                                row.get("updated_at", Instant.class));
+    }
+}
@@ -0,0 +1,44 @@
+package com.earlycharlemagne.customerapi.customer.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import com.earlycharlemagne.customerapi.customer.exception.InvalidCursorException;
+
+/**
+ * Opaque keyset cursor over {@code Customer.id}. Clients only ever pass back what they were given, so the
+ * encoding can change without affecting the API.
+ */
+final class CustomerCursor {
+    static final long START = 0L;
+
+    private CustomerCursor() {
+    }
+
+    static String encode(long lastSeenId) {
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString(ByteBuffer.allocate(Long.BYTES)
+                                               .putLong(lastSeenId)
+                                               .array());
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null) {
+            return START;
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder()
+                                 .decode(cursor);
+            if (bytes.length != Long.BYTES) {
+                throw new InvalidCursorException("Cursor [%s] is not valid".formatted(cursor));
+            }
+
+            return ByteBuffer.wrap(bytes)
+                             .getLong();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor [%s] is not valid".formatted(cursor));
+        }
+    }
+}
@@ -1,85 +1,335 @@
 package com.earlycharlemagne.customerapi.customer.service;
 
+import static com.earlycharlemagne.customerapi.cache.CacheConfig.CUSTOMERS_CACHE;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.validation.Validator;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.earlycharlemagne.customerapi.customer.entity.Customer;
 import com.earlycharlemagne.customerapi.customer.exception.CustomerCreationException;
+import com.earlycharlemagne.customerapi.customer.dto.AddressUpdateRequest;
+import com.earlycharlemagne.customerapi.customer.dto.BatchItemResult;
+import com.earlycharlemagne.customerapi.customer.dto.BatchItemStatus;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChangeType;
 import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPageResponse;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPatch;
+import com.earlycharlemagne.customerapi.customer.dto.ValidationError;
+import com.earlycharlemagne.customerapi.customer.exception.CustomerModifiedException;
 import com.earlycharlemagne.customerapi.customer.exception.CustomerNotFoundException;
+import com.earlycharlemagne.customerapi.customer.exception.IdempotencyKeyReusedException;
+import com.earlycharlemagne.customerapi.customer.export.CustomerExportWriter;
+import com.earlycharlemagne.customerapi.customer.id.GlobalIds;
+import com.earlycharlemagne.customerapi.customer.idempotency.IdempotencyKey;
+import com.earlycharlemagne.customerapi.customer.idempotency.IdempotencyKeyRepository;
+import com.earlycharlemagne.customerapi.customer.lookup.CustomerLookupFilter;
+import com.earlycharlemagne.customerapi.customer.outbox.CustomerChangeRepository;
 import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerView;
+import com.earlycharlemagne.customerapi.replica.ReplicaLagGuard;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    private static final String SERVICE_TIMER = "customer.service";
+
     private final CustomerRepository repository;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final CustomerLookupFilter lookupFilter;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final CustomerChangeRepository changeRepository;
+    private final ReplicaLagGuard replicaLagGuard;
     
-    public List<CustomerDto> getAllCustomers() {
-        return repository.findAll()
-                         .stream()
-                         .map(this::mapToCustomerDto)
-                         .toList();
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public CustomerPageResponse getAllCustomers(String cursor, int limit) {
+        return toPage(repository.findByIdGreaterThanOrderByIdAsc(CustomerCursor.decode(cursor), pageOf(limit)), limit);
     }
 
-    public List<CustomerDto> getCustomerByLastName(String lastName) {
-        return repository.findByLastNameIgnoreCase(lastName)
-                         .stream()
-                         .map(this::mapToCustomerDto)
-                         .toList();
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public CustomerPageResponse getCustomerByLastName(String lastName, String cursor, int limit) {
+        return toPage(repository.findByLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(lastName, CustomerCursor.decode(cursor), pageOf(limit)), limit);
     }
 
-    public List<CustomerDto> getCustomerByFirstName(String firstName) {
-        return repository.findByFirstNameIgnoreCase(firstName)
-                         .stream()
-                         .map(this::mapToCustomerDto)
-                         .toList();
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public CustomerPageResponse getCustomerByFirstName(String firstName, String cursor, int limit) {
+        return toPage(repository.findByFirstNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(firstName, CustomerCursor.decode(cursor), pageOf(limit)), limit);
     }
 
-    public List<CustomerDto> getCustomerByFirstAndLastName(String firstName, String lastName) {
-        return repository.findByFirstNameIgnoreCaseAndLastNameIgnoreCase(firstName, lastName)
-                         .stream()
-                         .map(this::mapToCustomerDto)
-                         .toList();
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public CustomerPageResponse getCustomerByFirstAndLastName(String firstName, String lastName, String cursor, int limit) {
+        return toPage(repository.findByFirstNameIgnoreCaseAndLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(firstName, lastName, CustomerCursor.decode(cursor), pageOf(limit)), limit);
     }
 
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public CustomerPageResponse searchCustomers(String query, int limit) {
+        return new CustomerPageResponse(repository.search(query.trim()
+                                                               .toLowerCase(Locale.ROOT), limit)
+                                                  .stream()
+                                                  .map(this::mapToCustomerDto)
+                                                  .toList(), null);
+    }
+
+    /**
+     * Fetches one row past the requested limit so the presence of a next page is known without a count query.
+     */
+    private Pageable pageOf(int limit) {
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    CustomerPageResponse toPage(List<CustomerView> customers, int limit) {
+        if (customers.size() <= limit) {
+            return new CustomerPageResponse(customers.stream()
+                                                     .map(this::mapToCustomerDto)
+                                                     .toList(), null);
+        }
+
+        List<CustomerView> page = customers.subList(0, limit);
+        String nextCursor = CustomerCursor.encode(page.get(limit - 1)
+                                                      .id());
+
+        return new CustomerPageResponse(page.stream()
+                                            .map(this::mapToCustomerDto)
+                                            .toList(), nextCursor);
+    }
+
+    /**
+     * Streams every customer in id order through a server-side cursor. Rows are read as projections, so nothing
+     * accumulates in the persistence context however many rows are exported. The first row is flushed right away
+     * so clients see data before the export finishes.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public void exportCustomers(CustomerExportWriter writer) throws IOException {
+        long exported = 0;
+
+        try (Stream<CustomerView> customers = repository.streamAllByOrderByIdAsc()) {
+            Iterator<CustomerView> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                writer.write(mapToCustomerDto(iterator.next()));
+
+                if (++exported == 1 || exported % EXPORT_FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Streams the customers with an id from {@code fromId} up to {@code toId}, one range of the export job, and
+     * returns how many there were.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public long exportCustomers(long fromId, long toId, CustomerExportWriter writer) throws IOException {
+        long exported = 0;
+
+        try (Stream<CustomerView> customers = repository.streamByIdRange(fromId, toId)) {
+            Iterator<CustomerView> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                writer.write(mapToCustomerDto(iterator.next()));
+                exported++;
+            }
+        }
+
+        writer.flush();
+
+        return exported;
+    }
+
+    /**
+     * A customer written in the last sticky window may come back from a replica as it was before the write, so it is
+     * returned without being cached.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CUSTOMERS_CACHE, key = "#globalId", unless = "@replicaLagGuard.mayBeStale(#globalId)")
     public CustomerDto getCustomerByGlobalId(String globalId) {
-        return repository.findByGlobalId(globalId)
+        Optional<UUID> id = GlobalIds.parse(globalId);
+        if (id.isEmpty() || !lookupFilter.mightContainGlobalId(globalId)) {
+            throw new CustomerNotFoundException("Customer with globalId [%s] does not exist".formatted(globalId));
+        }
+
+        return repository.findViewByGlobalId(id.get())
                          .map(this::mapToCustomerDto)
                          .orElseThrow(() -> new CustomerNotFoundException("Customer with globalId [%s] does not exist".formatted(globalId)));
     }
 
+    public CustomerDto mapToCustomerDto(CustomerView customer) {
+        return CustomerDto.builder()
+                          .id(customer.globalId()
+                                      .toString())
+                          .firstName(customer.firstName())
+                          .lastName(customer.lastName())
+                          .age(customer.age())
+                          .email(customer.email())
+                          .address(customer.address())
+                          .version(customer.version())
+                          .updatedAt(customer.updatedAt())
+                          .build();
+    }
+
     public CustomerDto mapToCustomerDto(Customer customer) {
         return CustomerDto.builder()
-                          .id(customer.getGlobalId())
+                          .id(customer.getGlobalId()
+                                      .toString())
                           .firstName(customer.getFirstName())
                           .lastName(customer.getLastName())
                           .age(customer.getAge())
                           .email(customer.getEmail())
                           .address(customer.getAddress())
+                          .version(customer.getVersion())
+                          .updatedAt(customer.getUpdatedAt())
                           .build();
     }
 
-    public String createNewCustomer(CustomerDto customerDto) {
-        if (customerExists(customerDto)) {
-            throw new CustomerCreationException("Failed to create customer. Customer already exists");
+    /**
+     * Creates the customer with a single insert that does nothing when the email is taken. With an idempotency key,
+     * a retry of the same request returns the customer created by the first attempt instead of failing, and reusing
+     * the key for a different request is rejected.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public String createNewCustomer(CustomerDto customerDto, String idempotencyKey) {
+        Customer customer = mapToCustomer(customerDto);
+        customer.setGlobalId(GlobalIds.generate());
+
+        if (idempotencyKey != null) {
+            String requestHash = requestHash(customerDto);
+            Optional<IdempotencyKey> existingKey = idempotencyKeyRepository.claim(idempotencyKey, requestHash, customer.getGlobalId());
+
+            if (existingKey.isPresent()) {
+                if (!existingKey.get()
+                                .requestHash()
+                                .equals(requestHash)) {
+                    throw new IdempotencyKeyReusedException("Idempotency key [%s] was already used for a different request".formatted(idempotencyKey));
+                }
+
+                return existingKey.get()
+                                  .globalId()
+                                  .toString();
+            }
         }
 
-        Customer customer = mapToCustomer(customerDto);
-        customer.setGlobalId(UUID.randomUUID().toString());
+        lookupFilter.add(customer.getGlobalId().toString(), customer.getEmail());
+        String globalId = repository.insertIfEmailAbsent(customer)
+                                    .orElseThrow(() -> new CustomerCreationException("Failed to create customer. Customer already exists"))
+                                    .toString();
+        changeRepository.record(CustomerChangeType.CREATED, List.of(customer.getGlobalId()));
+        customersCache().put(globalId, mapToCustomerDto(customer));
+
+        return globalId;
+    }
+
+    /**
+     * Creates many customers in one transaction. The customers are inserted with a single statement that skips any
+     * whose email is already taken, so a concurrent create of the same email is reported as an existing customer
+     * rather than failing the batch. Items are reported individually so one bad row doesn't reject the rest.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public List<BatchItemResult> createNewCustomers(List<CustomerDto> customerDtos) {
+        Set<String> seenEmails = new HashSet<>();
+        BatchItemResult[] results = new BatchItemResult[customerDtos.size()];
+        List<Integer> newIndexes = new ArrayList<>();
+        List<Customer> newCustomers = new ArrayList<>();
+
+        for (int index = 0; index < customerDtos.size(); index++) {
+            CustomerDto customerDto = customerDtos.get(index);
+            List<ValidationError> errors = validate(customerDto);
+
+            if (!errors.isEmpty()) {
+                results[index] = BatchItemResult.invalid(index, errors);
+            } else if (!seenEmails.add(normalizeEmail(customerDto.getEmail()))) {
+                results[index] = BatchItemResult.failed(index, BatchItemStatus.CUSTOMER_EXISTS);
+            } else {
+                Customer customer = mapToCustomer(customerDto);
+                customer.setGlobalId(GlobalIds.generate());
+                newIndexes.add(index);
+                newCustomers.add(customer);
+            }
+        }
+
+        Set<UUID> inserted = newCustomers.isEmpty() ? Set.of() : repository.insertAllIfAbsent(newCustomers);
+        List<UUID> created = new ArrayList<>(inserted.size());
+        for (int i = 0; i < newCustomers.size(); i++) {
+            Customer customer = newCustomers.get(i);
+            int index = newIndexes.get(i);
 
-        return repository.save(customer)
-                         .getGlobalId();
+            if (inserted.contains(customer.getGlobalId())) {
+                lookupFilter.add(customer.getGlobalId().toString(), customer.getEmail());
+                created.add(customer.getGlobalId());
+                results[index] = BatchItemResult.created(index, customer.getGlobalId().toString());
+            } else {
+                results[index] = BatchItemResult.failed(index, BatchItemStatus.CUSTOMER_EXISTS);
+            }
+        }
+        changeRepository.record(CustomerChangeType.CREATED, created);
+
+        return List.of(results);
     }
 
-    private boolean customerExists(CustomerDto customerDto) {
-        return repository.existsByEmail(customerDto.getEmail());
+    private Cache customersCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CUSTOMERS_CACHE));
     }
 
-    private Customer mapToCustomer(CustomerDto customerDto) {
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String requestHash(CustomerDto customerDto) {
+        String request = String.join("\0", customerDto.getFirstName(), customerDto.getLastName(), customerDto.getEmail(),
+                                     String.valueOf(customerDto.getAge()), customerDto.getAddress());
+
+        try {
+            return HexFormat.of()
+                            .formatHex(MessageDigest.getInstance("SHA-256")
+                                                    .digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Customer mapToCustomer(CustomerDto customerDto) {
         Customer customer = new Customer();
 
         customer.setFirstName(customerDto.getFirstName());
@@ -87,16 +337,109 @@ public class CustomerService {
         customer.setAge(customerDto.getAge());
         customer.setEmail(customerDto.getEmail());
         customer.setAddress(customerDto.getAddress());
+        customer.setUpdatedAt(Instant.now()
+                                     .truncatedTo(ChronoUnit.MICROS));
 
         return customer;
     }
 
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    @CacheEvict(cacheNames = CUSTOMERS_CACHE, key = "#globalId")
     public void updateExistingCustomerAddress(String globalId, String address) {
-        Customer customer = repository.findByGlobalId(globalId)
-                                      .orElseThrow(() -> new CustomerNotFoundException("Failed to update address. Customer with globalId [%s] does not exist".formatted(globalId)));
+        Optional<UUID> id = GlobalIds.parse(globalId);
+        replicaLagGuard.written(globalId);
+        if (id.isEmpty() || !lookupFilter.mightContainGlobalId(globalId) || repository.updateAddressByGlobalId(id.get(), address) == 0) {
+            throw new CustomerNotFoundException("Failed to update address. Customer with globalId [%s] does not exist".formatted(globalId));
+        }
+        changeRepository.record(CustomerChangeType.ADDRESS_UPDATED, List.of(id.get()));
+    }
+
+    /**
+     * Patches the customer with a single conditional update, without reading it first. With expected versions, a
+     * customer changed since the client read it is rejected instead of overwritten; {@code null} patches any version.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public CustomerDto patchCustomer(String globalId, CustomerPatch patch, Collection<Long> expectedVersions) {
+        Optional<UUID> id = GlobalIds.parse(globalId);
+        if (id.isEmpty() || !lookupFilter.mightContainGlobalId(globalId)) {
+            throw new CustomerNotFoundException("Failed to patch customer. Customer with globalId [%s] does not exist".formatted(globalId));
+        }
+
+        replicaLagGuard.written(globalId);
+        CustomerView customer;
+        try {
+            customer = repository.patch(id.get(), patch, expectedVersions)
+                                 .orElseThrow(() -> repository.existsByGlobalId(id.get())
+                                                    ? new CustomerModifiedException("Failed to patch customer. Customer with globalId [%s] is not at version %s".formatted(globalId, expectedVersions))
+                                                    : new CustomerNotFoundException("Failed to patch customer. Customer with globalId [%s] does not exist".formatted(globalId)));
+        } catch (DuplicateKeyException e) {
+            throw new CustomerCreationException("Failed to patch customer. Another customer already has email [%s]".formatted(patch.getEmail()));
+        }
+
+        changeRepository.record(CustomerChangeType.PATCHED, List.of(customer.globalId()));
+        if (patch.getEmail() != null) {
+            lookupFilter.add(globalId, customer.email());
+        }
+        CustomerDto customerDto = mapToCustomerDto(customer);
+        customersCache().put(globalId, customerDto);
+
+        return customerDto;
+    }
 
-        customer.setAddress(address);
+    /**
+     * Applies many address updates in one round trip. Items are reported individually; an unknown globalId or an
+     * invalid address doesn't stop the other updates.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public List<BatchItemResult> updateExistingCustomerAddresses(List<AddressUpdateRequest> addressUpdates) {
+        BatchItemResult[] results = new BatchItemResult[addressUpdates.size()];
+        List<Integer> pendingIndexes = new ArrayList<>();
+
+        for (int index = 0; index < addressUpdates.size(); index++) {
+            AddressUpdateRequest addressUpdate = addressUpdates.get(index);
+            List<ValidationError> errors = validate(addressUpdate);
+
+            if (!errors.isEmpty()) {
+                results[index] = BatchItemResult.invalid(index, errors);
+            } else if (GlobalIds.parse(addressUpdate.id()).isEmpty() || !lookupFilter.mightContainGlobalId(addressUpdate.id())) {
+                results[index] = BatchItemResult.failed(index, BatchItemStatus.CUSTOMER_NOT_FOUND);
+            } else {
+                replicaLagGuard.written(addressUpdate.id());
+                pendingIndexes.add(index);
+            }
+        }
+
+        int[] updatedRows = pendingIndexes.isEmpty() ? new int[0] : repository.updateAddresses(pendingIndexes.stream()
+                                                                                                            .map(addressUpdates::get)
+                                                                                                            .toList());
+        List<UUID> updatedGlobalIds = new ArrayList<>();
+        for (int i = 0; i < pendingIndexes.size(); i++) {
+            int index = pendingIndexes.get(i);
+            String globalId = addressUpdates.get(index)
+                                            .id();
+
+            if (updatedRows[i] > 0) {
+                customersCache().evict(globalId);
+                updatedGlobalIds.add(UUID.fromString(globalId));
+                results[index] = BatchItemResult.updated(index, globalId);
+            } else {
+                results[index] = BatchItemResult.failed(index, BatchItemStatus.CUSTOMER_NOT_FOUND);
+            }
+        }
+
+        changeRepository.record(CustomerChangeType.ADDRESS_UPDATED, updatedGlobalIds);
+
+        return List.of(results);
+    }
 
-        repository.save(customer);
+    private <T> List<ValidationError> validate(T request) {
+        return validator.validate(request)
+                        .stream()
+                        .map(violation -> new ValidationError(violation.getPropertyPath()
+                                                                       .toString(), violation.getMessage()))
+                        .toList();
     }
 }
\ No newline at end of file
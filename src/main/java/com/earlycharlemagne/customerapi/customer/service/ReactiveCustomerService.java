@@ -0,0 +1,64 @@
+package com.earlycharlemagne.customerapi.customer.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPageResponse;
+import com.earlycharlemagne.customerapi.customer.exception.CustomerNotFoundException;
+import com.earlycharlemagne.customerapi.customer.id.GlobalIds;
+import com.earlycharlemagne.customerapi.customer.lookup.CustomerLookupFilter;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerView;
+import com.earlycharlemagne.customerapi.customer.repository.ReactiveCustomerRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+public class ReactiveCustomerService {
+    private final ReactiveCustomerRepository repository;
+    private final CustomerService customerService;
+    private final CustomerLookupFilter lookupFilter;
+
+    public Mono<CustomerPageResponse> getAllCustomers(String cursor, int limit) {
+        return toPage(repository.findByIdGreaterThanOrderByIdAsc(CustomerCursor.decode(cursor), limit + 1), limit);
+    }
+
+    public Mono<CustomerPageResponse> getCustomerByLastName(String lastName, String cursor, int limit) {
+        return toPage(repository.findByLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(lastName, CustomerCursor.decode(cursor), limit + 1), limit);
+    }
+
+    public Mono<CustomerPageResponse> getCustomerByFirstName(String firstName, String cursor, int limit) {
+        return toPage(repository.findByFirstNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(firstName, CustomerCursor.decode(cursor), limit + 1), limit);
+    }
+
+    public Mono<CustomerPageResponse> getCustomerByFirstAndLastName(String firstName, String lastName, String cursor, int limit) {
+        return toPage(repository.findByFirstNameIgnoreCaseAndLastNameIgnoreCaseAndIdGreaterThanOrderByIdAsc(firstName, lastName, CustomerCursor.decode(cursor),
+                                                                                                            limit + 1), limit);
+    }
+
+    /**
+     * The query asks for one row past the limit, so the page knows whether there is a next one.
+     */
+    private Mono<CustomerPageResponse> toPage(Flux<CustomerView> customers, int limit) {
+        return customers.collectList()
+                        .map(page -> customerService.toPage(page, limit));
+    }
+
+    public Mono<CustomerDto> getCustomerByGlobalId(String globalId) {
+        Optional<UUID> id = GlobalIds.parse(globalId);
+        if (id.isEmpty() || !lookupFilter.mightContainGlobalId(globalId)) {
+            return Mono.error(() -> new CustomerNotFoundException("Customer with globalId [%s] does not exist".formatted(globalId)));
+        }
+
+        return repository.findByGlobalId(id.get())
+                         .map(customerService::mapToCustomerDto)
+                         .switchIfEmpty(Mono.error(() -> new CustomerNotFoundException("Customer with globalId [%s] does not exist".formatted(globalId))));
+    }
+}
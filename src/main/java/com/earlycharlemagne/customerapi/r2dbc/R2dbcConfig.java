@@ -0,0 +1,50 @@
+package com.earlycharlemagne.customerapi.r2dbc;
+
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+
+/**
+ * The {@code reactive} profile adds a non-blocking read path over the same database, next to the JDBC one that
+ * keeps handling writes, migrations and transactions.
+ * <p>
+ * The pool is deliberately not exposed as a {@code ConnectionFactory} bean: Boot's DataSource auto-configuration
+ * backs off as soon as one exists, which is also why {@code R2dbcAutoConfiguration} is excluded.
+ */
+@Profile("reactive")
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig {
+    @Bean(destroyMethod = "dispose")
+    ReadConnectionPool readConnectionPool(R2dbcProperties properties) {
+        var connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                                                        .username(properties.getUsername())
+                                                        .password(properties.getPassword())
+                                                        .build();
+        var pool = properties.getPool();
+
+        return new ReadConnectionPool(new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                                                                                    .initialSize(pool.getInitialSize())
+                                                                                    .maxSize(pool.getMaxSize())
+                                                                                    .maxIdleTime(pool.getMaxIdleTime())
+                                                                                    .build()));
+    }
+
+    @Bean
+    DatabaseClient databaseClient(ReadConnectionPool readConnectionPool) {
+        return DatabaseClient.create(readConnectionPool.connectionPool());
+    }
+
+    record ReadConnectionPool(ConnectionPool connectionPool) {
+        void dispose() {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.earlycharlemagne.customerapi.replica;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps clients on the primary for the sticky window after they changed something, so they don't read a replica
+ * that hasn't caught up with their own write yet. Only clients that identify themselves with the client header are
+ * kept there: all callers share the one API user, so the user can't tell them apart.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final Set<String> READ_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final String clientHeader;
+    private final Cache<String, Boolean> recentWriters;
+
+    ReadYourWritesFilter(ReplicaProperties properties) {
+        this.clientHeader = properties.getClientHeader();
+        this.recentWriters = Caffeine.newBuilder()
+                                     .expireAfterWrite(properties.getStickyWindow())
+                                     .maximumSize(properties.getStickyClientsMaxSize())
+                                     .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String client = client(request);
+        boolean sticky = client != null && recentWriters.getIfPresent(client) != null;
+        ReplicaRouting.setPrimaryOnly(sticky);
+
+        // Marked before the write runs: the response can reach the client, and its next read arrive, before the chain
+        // returns here.
+        boolean write = client != null && !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+
+        boolean succeeded = false;
+        try {
+            filterChain.doFilter(request, response);
+            succeeded = response.getStatus() < 400;
+        } finally {
+            ReplicaRouting.clear();
+            if (write && !succeeded && !sticky) {
+                recentWriters.invalidate(client);
+            }
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+
+        return client != null && !client.isBlank() ? client : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.earlycharlemagne.customerapi.replica;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary. The routing relies on the
+ * connection being fetched lazily: the proxy only picks a pool once the transaction has marked the connection
+ * read-only, and transactions answered entirely from the cache don't borrow a connection at all.
+ * <p>
+ * Defining the {@code DataSource} makes Boot's auto-configured pool back off, so the primary pool is bound to the
+ * same {@code spring.datasource} properties here.
+ */
+@Configuration
+@ConditionalOnProperty(name = "customerapi.replicas.enabled", havingValue = "true")
+public class ReplicaConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                         .type(HikariDataSource.class)
+                         .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaDataSource(primaryDataSource, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+
+        return dataSource;
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties properties) {
+        return new FilterRegistrationBean<>(new ReadYourWritesFilter(properties));
+    }
+}
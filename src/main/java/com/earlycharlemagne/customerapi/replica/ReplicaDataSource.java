@@ -0,0 +1,167 @@
+package com.earlycharlemagne.customerapi.replica;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out connections to the replicas round-robin, skipping replicas that failed their last health check or a
+ * connection attempt since. Falls back to the primary when no replica is usable or the current thread has to read
+ * from the primary.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+    private static final String HEALTH_CHECK_INTERVAL = "#{@replicaProperties.healthCheckInterval.toMillis()}";
+    private static final String REPLICATION_LAG = "select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxReplicationLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = properties.getInstances()
+                                  .stream()
+                                  .map(instance -> new Replica(instance.getUrl(), newPool(instance, properties)))
+                                  .toList();
+        this.maxReplicationLag = properties.getMaxReplicationLag();
+
+        Gauge.builder("customer.replicas.healthy", this, ReplicaDataSource::healthyReplicas)
+             .description("Replicas currently used for reads")
+             .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReplicaRouting.isPrimaryOnly() || replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                markUnhealthy(replica, e.getMessage());
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    /**
+     * Replicas are only reachable with their configured credentials, so connections for other ones come from the
+     * primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * A replica that fails the check is skipped until a later check passes again.
+     */
+    @Scheduled(fixedDelayString = HEALTH_CHECK_INTERVAL)
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    markUnhealthy(replica, "connection is not valid");
+                } else if (maxReplicationLag != null && replicationLag(connection).compareTo(maxReplicationLag) > 0) {
+                    markUnhealthy(replica, "replication lag exceeds " + maxReplicationLag);
+                } else {
+                    markHealthy(replica);
+                }
+            } catch (SQLException e) {
+                markUnhealthy(replica, e.getMessage());
+            }
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream()
+                             .filter(replica -> replica.healthy)
+                             .count();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static Duration replicationLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(REPLICATION_LAG)) {
+            resultSet.next();
+
+            return Duration.ofMillis((long) (resultSet.getDouble(1) * 1000));
+        }
+    }
+
+    private static void markHealthy(Replica replica) {
+        if (!replica.healthy) {
+            log.info("Replica [{}] is healthy again", replica.url);
+        }
+        replica.healthy = true;
+    }
+
+    private static void markUnhealthy(Replica replica, String reason) {
+        if (replica.healthy) {
+            log.warn("Replica [{}] is unhealthy, reading from the other replicas or the primary: {}", replica.url, reason);
+        }
+        replica.healthy = false;
+    }
+
+    /**
+     * The pool doesn't fail when the replica is down at startup, so the application starts and reads from the
+     * primary until the replica is back.
+     */
+    private static HikariDataSource newPool(ReplicaProperties.Instance instance, ReplicaProperties properties) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + instance.getUrl());
+        pool.setJdbcUrl(instance.getUrl());
+        pool.setUsername(instance.getUsername());
+        pool.setPassword(instance.getPassword());
+        pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+        pool.setConnectionTimeout(properties.getConnectionTimeout()
+                                            .toMillis());
+        pool.setReadOnly(true);
+        pool.setInitializationFailTimeout(-1);
+
+        return pool;
+    }
+
+    private static final class Replica {
+        private final String url;
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        private Replica(String url, HikariDataSource pool) {
+            this.url = url;
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.earlycharlemagne.customerapi.replica;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers what was written in the last sticky window, during which a replica may still return the version from
+ * before the write. Results read for those keys are fine to return but not to cache, as the cache would hand the old
+ * version to every client until it expires. Without replicas nothing is ever stale.
+ */
+@Component
+public class ReplicaLagGuard {
+    private static final long MAX_TRACKED_WRITES = 100_000;
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReplicaLagGuard(ReplicaProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.recentWrites = Caffeine.newBuilder()
+                                    .expireAfterWrite(properties.getStickyWindow())
+                                    .maximumSize(MAX_TRACKED_WRITES)
+                                    .build();
+    }
+
+    /**
+     * Called before the write, so a read racing with it is already covered when it finishes.
+     */
+    public void written(String key) {
+        if (enabled) {
+            recentWrites.put(key, Boolean.TRUE);
+        }
+    }
+
+    public boolean mayBeStale(String key) {
+        return enabled && recentWrites.getIfPresent(key) != null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.earlycharlemagne.customerapi.replica;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("customerapi.replicas")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private List<Instance> instances = new ArrayList<>();
+    private int maximumPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    /**
+     * Replicas further behind the primary are taken out of rotation; not checked when unset.
+     */
+    private Duration maxReplicationLag;
+    private Duration stickyWindow = Duration.ofSeconds(5);
+    private long stickyClientsMaxSize = 100_000;
+    private String clientHeader = "X-Client-Id";
+
+    @Getter
+    @Setter
+    public static class Instance {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
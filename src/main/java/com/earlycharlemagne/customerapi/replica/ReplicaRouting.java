@@ -0,0 +1,24 @@
+package com.earlycharlemagne.customerapi.replica;
+
+/**
+ * Per-thread override that keeps read-only transactions on the primary, for clients that need to read their own
+ * recent writes.
+ */
+final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = ThreadLocal.withInitial(() -> false);
+
+    private ReplicaRouting() {
+    }
+
+    static boolean isPrimaryOnly() {
+        return PRIMARY_ONLY.get();
+    }
+
+    static void setPrimaryOnly(boolean primaryOnly) {
+        PRIMARY_ONLY.set(primaryOnly);
+    }
+
+    static void clear() {
+        PRIMARY_ONLY.remove();
+    }
+}
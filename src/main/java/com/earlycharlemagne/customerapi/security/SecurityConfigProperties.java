@@ -1,5 +1,7 @@
 package com.earlycharlemagne.customerapi.security;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,4 +15,12 @@ import lombok.Setter;
 public class SecurityConfigProperties {
     private String username;
     private String password;
+    private CredentialCache credentialCache = new CredentialCache();
+
+    @Getter
+    @Setter
+    public static class CredentialCache {
+        private Duration ttl = Duration.ofMinutes(5);
+        private long maxSize = 1000;
+    }
 }
@@ -0,0 +1,16 @@
+-- Databases created by hibernate ddl-auto before migrations were introduced already have this table;
+-- both statements are no-ops there and the sequence is moved past the existing ids. Hibernate's pooled optimizer
+-- hands out the 50 ids up to and including the value it draws, so that value has to be at least max(id) + 50.
+create table if not exists customers (
+    id         bigint not null primary key,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    age        integer,
+    address    varchar(255),
+    global_id  varchar(255)
+);
+
+create sequence if not exists customers_seq start with 1 increment by 50;
+
+select setval('customers_seq', (select coalesce(max(id), 0) + 50 from customers), false);
@@ -0,0 +1,24 @@
+create unique index customers_global_id_key on customers (global_id);
+
+-- ddl-auto databases never enforced unique emails, so they may hold addresses that differ only in case. Those
+-- have to be merged or corrected by hand before the index below can be built.
+do $$
+declare
+    duplicates text;
+begin
+    select string_agg(email, ', ') into duplicates
+    from (select lower(email) as email from customers where email is not null group by lower(email) having count(*) > 1 limit 20) d;
+
+    if duplicates is not null then
+        raise exception 'customers has emails that differ only in case: %', duplicates
+            using hint = 'Resolve the duplicates, then run the migration again.';
+    end if;
+end
+$$;
+
+create unique index customers_email_lower_key on customers (lower(email));
+
+-- id is included so keyset pagination over a name filter is served by an index range scan without a sort
+create index customers_first_name_lower_idx on customers (lower(first_name), id);
+
+create index customers_last_name_lower_idx on customers (lower(last_name), id);
@@ -0,0 +1,5 @@
+-- Trigram index over names and email for /api/customers/search. The expression must match the one in
+-- CustomerSearchRepositoryImpl exactly for the planner to use it.
+create extension if not exists pg_trgm;
+
+create index if not exists customers_search_trgm_idx on customers using gin (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops);
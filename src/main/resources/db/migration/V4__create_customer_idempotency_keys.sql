@@ -0,0 +1,9 @@
+-- Remembers which customer a client-supplied Idempotency-Key created, so a retried POST returns the same customer
+create table customer_idempotency_keys (
+    idempotency_key varchar(255)             not null primary key,
+    request_hash    varchar(64)              not null,
+    global_id       varchar(255)             not null,
+    created_at      timestamp with time zone not null default now()
+);
+
+create index customer_idempotency_keys_created_at_idx on customer_idempotency_keys (created_at);
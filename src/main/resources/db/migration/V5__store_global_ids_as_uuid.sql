@@ -0,0 +1,5 @@
+-- globalIds are stored in the native 16 byte uuid type instead of their 36 character text form. Changing the type
+-- rewrites the table and rebuilds customers_global_id_key, holding an exclusive lock until it is done.
+alter table customers alter column global_id type uuid using global_id::uuid;
+
+alter table customer_idempotency_keys alter column global_id type uuid using global_id::uuid;
@@ -0,0 +1,5 @@
+-- version and updated_at back the ETag and Last-Modified headers of customer reads. Both defaults are constant for
+-- the statement, so existing rows get them without a table rewrite.
+alter table customers add column version bigint not null default 0;
+
+alter table customers add column updated_at timestamptz not null default now();
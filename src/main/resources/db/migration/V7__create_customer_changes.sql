@@ -0,0 +1,18 @@
+-- Transactional outbox of customer mutations. Rows are written in the transaction of the change; the relay assigns
+-- each one a position when it publishes it, so positions follow publication order even when transactions commit in a
+-- different order than they took their ids.
+create table customer_changes (
+    id          bigint generated always as identity primary key,
+    global_id   uuid                     not null,
+    change_type varchar(32)              not null,
+    version     bigint                   not null,
+    customer    jsonb                    not null,
+    created_at  timestamp with time zone not null default now(),
+    position    bigint unique
+);
+
+create sequence customer_changes_position_seq;
+
+create index customer_changes_unpublished_idx on customer_changes (id) where position is null;
+
+create index customer_changes_created_at_idx on customer_changes (created_at);
@@ -0,0 +1,81 @@
+-- customers becomes hash partitioned on global_id: a lookup by globalId is pruned to one of 16 partitions, and
+-- vacuum and index builds work a partition at a time. Existing rows are copied into the new table, which holds an
+-- exclusive lock on customers until the migration commits; see the README before running it on a large table.
+--
+-- A unique index on a partitioned table has to include the partition key, so lower(email) can't be unique on
+-- customers itself. Emails are claimed in customer_emails instead, kept in step by the trigger below.
+create table customer_emails (
+    email     varchar(255) not null primary key,
+    global_id uuid         not null
+);
+
+create table customers_partitioned (
+    id         bigint       not null,
+    first_name varchar(255),
+    last_name  varchar(255),
+    email      varchar(255),
+    age        integer,
+    address    varchar(255),
+    global_id  uuid         not null,
+    version    bigint       not null default 0,
+    updated_at timestamptz  not null default now(),
+    primary key (id, global_id)
+) partition by hash (global_id);
+
+do $$
+begin
+    for remainder in 0..15 loop
+        execute format('create table customers_p%s partition of customers_partitioned for values with (modulus 16, remainder %s)',
+                       lpad(remainder::text, 2, '0'), remainder);
+    end loop;
+end
+$$;
+
+insert into customers_partitioned (id, first_name, last_name, email, age, address, global_id, version, updated_at)
+select id, first_name, last_name, email, age, address, global_id, version, updated_at
+from customers;
+
+insert into customer_emails (email, global_id)
+select lower(email), global_id
+from customers
+where email is not null;
+
+drop table customers;
+
+alter table customers_partitioned rename to customers;
+
+alter index customers_partitioned_pkey rename to customers_pkey;
+
+create unique index customers_global_id_key on customers (global_id);
+
+create index customers_first_name_lower_idx on customers (lower(first_name), id);
+
+create index customers_last_name_lower_idx on customers (lower(last_name), id);
+
+create index customers_search_trgm_idx on customers using gin (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops);
+
+-- A row may find its email already claimed under its own globalId: the create statements claim the email before
+-- inserting the customer. Claimed by anyone else, it is the same unique violation the old index raised.
+create function customers_claim_email() returns trigger language plpgsql as $$
+begin
+    if tg_op in ('UPDATE', 'DELETE') and old.email is not null then
+        delete from customer_emails where email = lower(old.email) and global_id = old.global_id;
+    end if;
+
+    if tg_op in ('INSERT', 'UPDATE') and new.email is not null then
+        insert into customer_emails (email, global_id) values (lower(new.email), new.global_id)
+        on conflict do nothing;
+
+        if not found and not exists (select from customer_emails where email = lower(new.email) and global_id = new.global_id) then
+            raise unique_violation using message = 'duplicate key value violates unique constraint "customer_emails_pkey"',
+                                         detail = format('Key (email)=(%s) already exists.', lower(new.email)),
+                                         constraint = 'customer_emails_pkey';
+        end if;
+    end if;
+
+    return null;
+end
+$$;
+
+create trigger customers_claim_email after insert or delete or update of email on customers
+    for each row execute function customers_claim_email();
@@ -0,0 +1,73 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import com.earlycharlemagne.customerapi.security.CachingPasswordEncoder;
+
+/**
+ * Cost of authenticating one HTTP Basic request, with and without the verified-credential cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+    private static final String USERNAME = "api_user";
+    private static final String PASSWORD = "verysecurepassword";
+
+    @Param({"bcrypt", "cached"})
+    String encoder;
+
+    DaoAuthenticationProvider authenticationProvider;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = switch (encoder) {
+            case "cached" -> new CachingPasswordEncoder(new BCryptPasswordEncoder(), Duration.ofMinutes(5), 1000);
+            default -> new BCryptPasswordEncoder();
+        };
+        var userDetails = User.withUsername(USERNAME)
+                              .password(passwordEncoder.encode(PASSWORD))
+                              .roles("API_USER")
+                              .build();
+
+        authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsService(new InMemoryUserDetailsManager(userDetails));
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthenticationBenchmark.class.getSimpleName())
+                                       .build()).run();
+    }
+}
@@ -0,0 +1,44 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    static Customer customer(int index) {
+        var customer = new Customer();
+
+        customer.setId((long) index);
+        customer.setFirstName("Jane" + index);
+        customer.setLastName("Doe" + index);
+        customer.setAge(20 + index % 60);
+        customer.setEmail("jane.doe" + index + "@example.com");
+        customer.setAddress(index + " Main street, Amsterdam");
+        customer.setGlobalId(UUID.nameUUIDFromBytes(Integer.toString(index).getBytes()));
+
+        return customer;
+    }
+
+    static CustomerDto customerDto(int index) {
+        return CustomerDto.builder()
+                          .id(UUID.nameUUIDFromBytes(Integer.toString(index).getBytes()).toString())
+                          .firstName("Jane" + index)
+                          .lastName("Doe" + index)
+                          .age(20 + index % 60)
+                          .email("jane.doe" + index + "@example.com")
+                          .address(index + " Main street, Amsterdam")
+                          .build();
+    }
+
+    static List<CustomerDto> customerDtos(int size) {
+        return IntStream.range(0, size)
+                        .mapToObj(BenchmarkData::customerDto)
+                        .toList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+
+/**
+ * Entity/DTO mapping done for every customer read or written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMappingBenchmark {
+    CustomerService customerService;
+    Customer customer;
+    CustomerDto customerDto;
+
+    @Setup
+    public void setUp() {
+        customerService = new CustomerService(null, null, null, null, null, null, null);
+        customer = BenchmarkData.customer(1);
+        customerDto = BenchmarkData.customerDto(1);
+    }
+
+    @Benchmark
+    public CustomerDto mapToCustomerDto() {
+        return customerService.mapToCustomerDto(customer);
+    }
+
+    @Benchmark
+    public Customer mapToCustomer() {
+        return customerService.mapToCustomer(customerDto);
+    }
+}
@@ -0,0 +1,213 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The customer queries against a plain table versus one hash partitioned on {@code global_id} into 16 partitions,
+ * as {@code customers} is since V8, at 10M rows. Lookups by globalId are pruned to one partition; keyset pages in id
+ * order merge the index scans of all partitions. The full scan reads every row the way the export does, through one
+ * cursor over the plain table and through one cursor per partition spread over {@code scanThreads} connections for
+ * the partitioned one.
+ * <p>
+ * Needs a database, by default the docker-compose one; set {@code benchmark.datasource.url} to use another. The
+ * benchmark table is created and dropped per trial; loading 10M rows takes a few minutes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class CustomerPartitioningBenchmark {
+    private static final String TABLE = "customer_partitioning_benchmark";
+    private static final int PARTITIONS = 16;
+    private static final int PAGE_SIZE = 100;
+    private static final int SAMPLED_GLOBAL_IDS = 10_000;
+    private static final int LAST_NAMES = 1000;
+    private static final int FETCH_SIZE = 1000;
+
+    @Param({"plain", "partitioned"})
+    String table;
+    @Param("10000000")
+    int rows;
+    @Param("4")
+    int scanThreads;
+
+    Connection connection;
+    List<Connection> scanConnections;
+    ExecutorService scanExecutor;
+    PreparedStatement findByGlobalId;
+    PreparedStatement findPage;
+    PreparedStatement findPageByLastName;
+    UUID[] globalIds;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = connect();
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + TABLE);
+            statement.execute("""
+                                  create table %s (
+                                      id bigint not null, first_name varchar(255), last_name varchar(255), email varchar(255),
+                                      age integer, address varchar(255), global_id uuid not null, primary key (id, global_id)
+                                  ) %s""".formatted(TABLE, "partitioned".equals(table) ? "partition by hash (global_id)" : ""));
+            if ("partitioned".equals(table)) {
+                for (int remainder = 0; remainder < PARTITIONS; remainder++) {
+                    statement.execute("create table %s_p%02d partition of %s for values with (modulus %d, remainder %d)".formatted(TABLE, remainder, TABLE, PARTITIONS, remainder));
+                }
+            }
+            statement.execute("""
+                                  insert into %s (id, first_name, last_name, email, age, address, global_id)
+                                  select n, 'First' || n, 'Last' || n %% %d, 'customer' || n || '@example.com', 18 + n %% 80, n || ' street, Amsterdam', gen_random_uuid()
+                                  from generate_series(1, %d) n""".formatted(TABLE, LAST_NAMES, rows));
+            statement.execute("create unique index on %s (global_id)".formatted(TABLE));
+            statement.execute("create index on %s (lower(last_name), id)".formatted(TABLE));
+            statement.execute("vacuum analyze " + TABLE);
+
+            try (var sample = statement.executeQuery("select global_id from %s order by random() limit %d".formatted(TABLE, SAMPLED_GLOBAL_IDS))) {
+                List<UUID> sampled = new ArrayList<>(SAMPLED_GLOBAL_IDS);
+                while (sample.next()) {
+                    sampled.add(sample.getObject(1, UUID.class));
+                }
+                globalIds = sampled.toArray(UUID[]::new);
+            }
+        }
+
+        findByGlobalId = connection.prepareStatement("select * from %s where global_id = ?".formatted(TABLE));
+        findPage = connection.prepareStatement("select * from %s where id > ? order by id limit %d".formatted(TABLE, PAGE_SIZE));
+        findPageByLastName = connection.prepareStatement("select * from %s where lower(last_name) = lower(?) and id > 0 order by id limit %d".formatted(TABLE, PAGE_SIZE));
+
+        scanConnections = new ArrayList<>();
+        for (int i = 0; i < scanThreads; i++) {
+            Connection scanConnection = connect();
+            scanConnection.setAutoCommit(false);
+            scanConnections.add(scanConnection);
+        }
+        scanExecutor = Executors.newFixedThreadPool(scanThreads);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        scanExecutor.shutdownNow();
+        for (Connection scanConnection : scanConnections) {
+            scanConnection.close();
+        }
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("drop table " + TABLE);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int findByGlobalId() throws SQLException {
+        findByGlobalId.setObject(1, globalIds[ThreadLocalRandom.current()
+                                                              .nextInt(globalIds.length)]);
+
+        return count(findByGlobalId);
+    }
+
+    @Benchmark
+    public int findPage() throws SQLException {
+        findPage.setLong(1, ThreadLocalRandom.current()
+                                             .nextLong(rows - PAGE_SIZE));
+
+        return count(findPage);
+    }
+
+    @Benchmark
+    public int findPageByLastName() throws SQLException {
+        findPageByLastName.setString(1, "Last" + ThreadLocalRandom.current()
+                                                                 .nextInt(LAST_NAMES));
+
+        return count(findPageByLastName);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scanAll() throws Exception {
+        if (!"partitioned".equals(table)) {
+            return scan(scanConnections.get(0), TABLE);
+        }
+
+        List<Future<Long>> scans = new ArrayList<>(PARTITIONS);
+        for (int remainder = 0; remainder < PARTITIONS; remainder++) {
+            Connection scanConnection = scanConnections.get(remainder % scanThreads);
+            String partition = "%s_p%02d".formatted(TABLE, remainder);
+            scans.add(scanExecutor.submit(() -> {
+                synchronized (scanConnection) {
+                    return scan(scanConnection, partition);
+                }
+            }));
+        }
+
+        long scanned = 0;
+        for (Future<Long> scan : scans) {
+            try {
+                scanned += scan.get();
+            } catch (ExecutionException e) {
+                throw (Exception) e.getCause();
+            }
+        }
+
+        return scanned;
+    }
+
+    private static long scan(Connection connection, String table) throws SQLException {
+        try (var statement = connection.prepareStatement("select * from " + table)) {
+            statement.setFetchSize(FETCH_SIZE);
+            long scanned = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    scanned += resultSet.getLong(1);
+                }
+            }
+            connection.commit();
+
+            return scanned;
+        }
+    }
+
+    private static int count(PreparedStatement query) throws SQLException {
+        int found = 0;
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/customerapi_db"), "postgres", "postgres");
+    }
+}
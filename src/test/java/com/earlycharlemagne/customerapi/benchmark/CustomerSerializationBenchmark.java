@@ -0,0 +1,58 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDtoSerializer;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerPageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of a page of customers, written to a discarding stream so only the encoding is measured.
+ * The mapper is built the way Boot builds the one used by the message converters, with Jackson's reflective bean
+ * serializer for customers or with the hand-written {@code CustomerDtoSerializer} the application registers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerSerializationBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int size;
+    @Param({"bean", "handWritten"})
+    String serializer;
+
+    ObjectMapper objectMapper;
+    CustomerPageResponse page;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("handWritten".equals(serializer)) {
+            builder.serializers(new CustomerDtoSerializer());
+        }
+        objectMapper = builder.build();
+        page = new CustomerPageResponse(BenchmarkData.customerDtos(size), "next");
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+}
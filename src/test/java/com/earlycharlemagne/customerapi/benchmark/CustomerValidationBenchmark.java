@@ -0,0 +1,57 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+
+/**
+ * Bean Validation of a request body, for a valid customer and for one that violates every constraint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerValidationBenchmark {
+    @Param({"valid", "invalid"})
+    String customer;
+
+    Validator validator;
+    CustomerDto customerDto;
+
+    @Setup
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory()
+                              .getValidator();
+        customerDto = switch (customer) {
+            case "invalid" -> CustomerDto.builder()
+                                         .email("not-an-email")
+                                         .age(-1)
+                                         .build();
+            default -> BenchmarkData.customerDto(1);
+        };
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerDto>> validate() {
+        return validator.validate(customerDto);
+    }
+}
@@ -0,0 +1,84 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.earlycharlemagne.customerapi.customer.controller.CustomerController;
+import com.earlycharlemagne.customerapi.customer.controller.CustomerControllerAdvice;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.exception.CustomerNotFoundException;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A request that ends in {@link CustomerControllerAdvice}: exception resolution and writing the error body,
+ * through a standalone MockMvc without security. Logging is switched off so appender I/O doesn't drown the
+ * result, but log arguments are still evaluated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseBenchmark {
+    @Param({"notFound", "validationError"})
+    String error;
+
+    MockMvc mockMvc;
+    RequestBuilder request;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+
+        var objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                      .build();
+        var customerService = new CustomerService(null, null, null, null, null, null, null) {
+            @Override
+            public CustomerDto getCustomerByGlobalId(String globalId) {
+                throw new CustomerNotFoundException("Customer with globalId [%s] does not exist".formatted(globalId));
+            }
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(new CustomerController(customerService, objectMapper))
+                                 .setControllerAdvice(new CustomerControllerAdvice(new SimpleMeterRegistry()))
+                                 .build();
+        request = switch (error) {
+            case "validationError" -> post("/api/customers").contentType(APPLICATION_JSON)
+                                                            .content(objectMapper.writeValueAsString(CustomerDto.builder()
+                                                                                                                .email("not-an-email")
+                                                                                                                .build()));
+            default -> get("/api/customers/{id}", "3149927e-85db-4875-b1eb-f97df52a4ab6");
+        };
+    }
+
+    @Benchmark
+    public MvcResult handleError() throws Exception {
+        return mockMvc.perform(request)
+                      .andReturn();
+    }
+}
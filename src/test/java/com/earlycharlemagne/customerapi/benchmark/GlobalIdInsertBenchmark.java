@@ -0,0 +1,112 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.earlycharlemagne.customerapi.customer.id.GlobalIds;
+
+/**
+ * Insert throughput into a table with a unique {@code uuid} index, as {@code customers.global_id} has, for random
+ * version 4 ids versus the time-ordered version 7 ids the service generates. The table is preloaded so the index is
+ * much larger than the pages an ordered insert touches; random ids dirty a different leaf page per row and split
+ * pages all over the index, which leaves it less densely packed; the index bytes per row are printed at the end of
+ * each trial.
+ * <p>
+ * Needs a database, by default the docker-compose one; set {@code benchmark.datasource.url} to use another. The
+ * benchmark table is created and dropped per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class GlobalIdInsertBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    private static final String TABLE = "global_id_insert_benchmark";
+
+    @Param({"v4", "v7"})
+    String version;
+    @Param("2000000")
+    int preloadedRows;
+
+    Connection connection;
+    PreparedStatement insert;
+    Supplier<UUID> generator;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/customerapi_db") + "?reWriteBatchedInserts=true",
+                                                 "postgres", "postgres");
+        generator = "v4".equals(version) ? UUID::randomUUID : GlobalIds::generate;
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + TABLE);
+            statement.execute("create table " + TABLE + " (id bigint generated always as identity primary key, global_id uuid not null unique)");
+        }
+
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into " + TABLE + " (global_id) values (?)");
+        for (int row = 0; row < preloadedRows; row += BATCH_SIZE) {
+            insertBatch();
+        }
+        connection.commit();
+
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+            statement.execute("vacuum analyze " + TABLE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (var statement = connection.createStatement();
+             var index = statement.executeQuery("select count(*), pg_relation_size('" + TABLE + "_global_id_key') from " + TABLE)) {
+            index.next();
+            System.out.printf("%n%s global_id index: %d MB for %d rows, %.1f bytes per row%n", version, index.getLong(2) >> 20, index.getLong(1),
+                              (double) index.getLong(2) / index.getLong(1));
+            statement.execute("drop table " + TABLE);
+            connection.commit();
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertRows() throws SQLException {
+        int[] insertedRows = insertBatch();
+        connection.commit();
+
+        return insertedRows;
+    }
+
+    private int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, generator.get());
+            insert.addBatch();
+        }
+
+        return insert.executeBatch();
+    }
+}
@@ -0,0 +1,102 @@
+package com.earlycharlemagne.customerapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.earlycharlemagne.customerapi.CustomerApiApplication;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+
+/**
+ * Allocation and time for reading one page of customers, loading managed entities and mapping them versus the
+ * {@code CustomerView} projection the service reads through. Compare {@code gc.alloc.rate.norm} from the GC
+ * profiler, which the benchmark profile enables.
+ * <p>
+ * Unlike the other benchmarks this one needs a database, by default the docker-compose one; set
+ * {@code benchmark.datasource.url} to use another. Missing customers are seeded on the first run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ListQueryAllocationBenchmark {
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"entity", "projection"})
+    String read;
+
+    ConfigurableApplicationContext context;
+    CustomerService customerService;
+    EntityManager entityManager;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomerApiApplication.class).web(WebApplicationType.NONE)
+                                                                            .properties("spring.datasource.url=" + System.getProperty("benchmark.datasource.url", "jdbc:postgresql://localhost:5432/customerapi_db"),
+                                                                                        "spring.datasource.username=postgres",
+                                                                                        "spring.datasource.password=postgres",
+                                                                                        "logging.level.root=WARN")
+                                                                            .run();
+        customerService = context.getBean(CustomerService.class);
+        entityManager = context.getBean(EntityManager.class);
+
+        var repository = context.getBean(CustomerRepository.class);
+        var missing = PAGE_SIZE - repository.count();
+        if (missing > 0) {
+            List<Customer> customers = new ArrayList<>();
+            for (int i = 0; i < missing; i++) {
+                var customer = BenchmarkData.customer(i);
+                customer.setId(null);
+                customer.setGlobalId(UUID.randomUUID());
+                customer.setEmail(customer.getGlobalId() + "@example.com");
+                customers.add(customer);
+            }
+            repository.saveAll(customers);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerDto> readPage() {
+        return switch (read) {
+            case "entity" -> entityManager.createQuery("select c from Customer c where c.id > :id order by c.id", Customer.class)
+                                          .setParameter("id", 0L)
+                                          .setMaxResults(PAGE_SIZE + 1)
+                                          .getResultList()
+                                          .stream()
+                                          .limit(PAGE_SIZE)
+                                          .map(customerService::mapToCustomerDto)
+                                          .toList();
+            default -> customerService.getAllCustomers(null, PAGE_SIZE)
+                                      .customers();
+        };
+    }
+}
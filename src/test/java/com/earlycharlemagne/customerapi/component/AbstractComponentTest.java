@@ -1,6 +1,9 @@
 package com.earlycharlemagne.customerapi.component;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +22,9 @@ abstract class AbstractComponentTest {
     @Container
     static final PostgreSQLContainer<?> POSTGRES_SQL_CONTAINER = new PostgreSQLContainer<>("postgres:15.3");
 
+    @Autowired
+    CacheManager cacheManager;
+
     @DynamicPropertySource
     static void overrideProperties(DynamicPropertyRegistry registry) {
         POSTGRES_SQL_CONTAINER.start();
@@ -28,4 +34,11 @@ abstract class AbstractComponentTest {
         registry.add("spring.datasource.password", CustomerComponentTests.POSTGRES_SQL_CONTAINER::getPassword);
         registry.add("spring.datasource.driver-class-name", CustomerComponentTests.POSTGRES_SQL_CONTAINER::getDriverClassName);
     }
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames()
+                    .forEach(cacheName -> cacheManager.getCache(cacheName)
+                                                      .clear());
+    }
 }
@@ -0,0 +1,185 @@
+package com.earlycharlemagne.customerapi.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.earlycharlemagne.customerapi.customer.dto.AddressRequest;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChange;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerChangeType;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerIdResponse;
+import com.earlycharlemagne.customerapi.customer.outbox.CustomerChangeRelay;
+import com.earlycharlemagne.customerapi.customer.outbox.CustomerChangeSink;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+
+@AutoConfigureMockMvc
+@WithMockUser(username = "api_user", password = "verysecurepassword")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CustomerChangeComponentTests.InMemorySinkConfig.class)
+class CustomerChangeComponentTests extends AbstractComponentTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    CustomerChangeRelay changeRelay;
+    @Autowired
+    InMemoryCustomerChangeSink sink;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    long since;
+
+    @BeforeEach
+    void rememberLastPosition() {
+        since = jdbcTemplate.queryForObject("select coalesce(max(position), 0) from customer_changes", Long.class);
+        sink.clear();
+    }
+
+    @AfterEach
+    void deleteCustomers() {
+        sink.failing.set(false);
+        customerRepository.deleteAll();
+        jdbcTemplate.update("delete from customer_changes");
+    }
+
+    @Test
+    void changesArePublishedInOrder() throws Exception {
+        var globalId = createCustomer();
+        mockMvc.perform(put("/api/customers/{id}/address", globalId).contentType(APPLICATION_JSON)
+                                                                    .content(OBJECT_MAPPER.writeValueAsString(new AddressRequest("New address"))))
+               .andExpect(status().isNoContent());
+        mockMvc.perform(patch("/api/customers/{id}", globalId).contentType("application/merge-patch+json")
+                                                              .content("""
+                                                                  { "age": 40 }
+                                                                  """))
+               .andExpect(status().isOk());
+
+        publish(3);
+
+        mockMvc.perform(get("/api/customers/changes").param("since", String.valueOf(since)))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.changes[*].type", contains("CREATED", "ADDRESS_UPDATED", "PATCHED")))
+               .andExpect(jsonPath("$.changes[*].version", contains(0, 1, 2)))
+               .andExpect(jsonPath("$.changes[0].id", is(globalId)))
+               .andExpect(jsonPath("$.changes[0].customer.address", is("123 street, Amsterdam")))
+               .andExpect(jsonPath("$.changes[1].customer.address", is("New address")))
+               .andExpect(jsonPath("$.changes[2].customer.age", is(40)));
+        assertThat(sink.changes).extracting(CustomerChange::position)
+                                .isSorted()
+                                .allMatch(position -> position > since);
+        assertThat(sink.changes).extracting(CustomerChange::type)
+                                .containsExactly(CustomerChangeType.CREATED, CustomerChangeType.ADDRESS_UPDATED, CustomerChangeType.PATCHED);
+    }
+
+    @Test
+    void changesAreNotRecordedForFailedWrites() throws Exception {
+        createCustomer();
+        mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                              .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest())))
+               .andExpect(status().isBadRequest());
+
+        publish(1);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from customer_changes", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void changesAreRepublishedAfterSinkFailure() throws Exception {
+        sink.failing.set(true);
+        createCustomer();
+
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/customers/changes").param("since", String.valueOf(since)))
+               .andExpect(jsonPath("$.changes", hasSize(0)))
+               .andExpect(jsonPath("$.since", is((int) since)));
+        assertThat(sink.changes).isEmpty();
+
+        sink.failing.set(false);
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/customers/changes").param("since", String.valueOf(since)))
+               .andExpect(jsonPath("$.changes", hasSize(1)));
+        assertThat(sink.changes).hasSize(1);
+    }
+
+    private void publish(int count) throws Exception {
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/customers/changes").param("since", String.valueOf(since)))
+               .andExpect(jsonPath("$.changes", hasSize(count)));
+    }
+
+    private String createCustomer() throws Exception {
+        var response = mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                                             .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest())))
+                              .andExpect(status().isCreated())
+                              .andReturn();
+
+        return OBJECT_MAPPER.readValue(response.getResponse()
+                                               .getContentAsString(), CustomerIdResponse.class)
+                            .id();
+    }
+
+    private CustomerDto newCustomerRequest() {
+        return CustomerDto.builder()
+                          .firstName("Jane")
+                          .lastName("Doe")
+                          .age(31)
+                          .email("jane.doe@example.com")
+                          .address("123 street, Amsterdam")
+                          .build();
+    }
+
+    @TestConfiguration
+    static class InMemorySinkConfig {
+        @Bean
+        InMemoryCustomerChangeSink inMemoryCustomerChangeSink() {
+            return new InMemoryCustomerChangeSink();
+        }
+    }
+
+    static class InMemoryCustomerChangeSink implements CustomerChangeSink {
+        final List<CustomerChange> changes = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public void publish(List<CustomerChange> changes) {
+            if (failing.get()) {
+                throw new IllegalStateException("Sink is unavailable");
+            }
+            this.changes.addAll(changes);
+        }
+
+        void clear() {
+            changes.clear();
+        }
+    }
+}
@@ -1,40 +1,71 @@
 package com.earlycharlemagne.customerapi.component;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.earlycharlemagne.customerapi.customer.dto.AddressRequest;
+import com.earlycharlemagne.customerapi.customer.dto.BatchItemStatus;
 import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
 import com.earlycharlemagne.customerapi.customer.dto.CustomerIdResponse;
 import com.earlycharlemagne.customerapi.customer.entity.Customer;
+import com.earlycharlemagne.customerapi.customer.exception.CustomerCreationException;
 import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.jayway.jsonpath.JsonPath;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @AutoConfigureMockMvc
 @WithMockUser(username = "api_user", password = "verysecurepassword")
 class CustomerComponentTests extends AbstractComponentTest {
+    private static final int CONCURRENT_CREATES = 8;
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     @Autowired
     MockMvc mockMvc;
     @Autowired
     CustomerRepository customerRepository;
+    @Autowired
+    CustomerService customerService;
+    @Autowired
+    MeterRegistry meterRegistry;
 
     @Test
     void createNewCustomerSuccessfully() throws Exception {
@@ -48,14 +79,17 @@ class CustomerComponentTests extends AbstractComponentTest {
         assertThat(savedCustomers).hasSize(1)
                                   .first()
                                   .usingRecursiveComparison()
-                                  .ignoringFields("id", "globalId")
+                                  .ignoringFields("id", "globalId", "updatedAt")
                                   .isEqualTo(newCustomer());
 
         var responseBody = OBJECT_MAPPER.readValue(response.getResponse()
                                                            .getContentAsString(), CustomerIdResponse.class);
         var savedCustomerGlobalId = savedCustomers.get(0)
-                                                  .getGlobalId();
+                                                  .getGlobalId()
+                                                  .toString();
         assertThat(responseBody.id()).isEqualTo(savedCustomerGlobalId);
+        assertThat(UUID.fromString(responseBody.id())
+                       .version()).isEqualTo(7);
     }
 
     @Test
@@ -71,6 +105,186 @@ class CustomerComponentTests extends AbstractComponentTest {
 
     }
 
+    @Test
+    void createNewCustomerAlreadyExistsWithDifferentCase() throws Exception {
+        customerRepository.save(newCustomer());
+
+        var requestBody = OBJECT_MAPPER.writeValueAsString(CustomerDto.builder()
+                                                                      .firstName("Jane")
+                                                                      .lastName("Doe")
+                                                                      .age(31)
+                                                                      .email("Jane.Doe@Example.com")
+                                                                      .address("123 street, Amsterdam")
+                                                                      .build());
+
+        mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                              .content(requestBody))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_EXISTS")));
+    }
+
+    @Test
+    void createNewCustomerRetriedWithSameIdempotencyKey() throws Exception {
+        var requestBody = OBJECT_MAPPER.writeValueAsString(newCustomerRequest());
+        var firstResponse = mockMvc.perform(post("/api/customers").header("Idempotency-Key", "create-jane-doe")
+                                                                  .contentType(APPLICATION_JSON)
+                                                                  .content(requestBody))
+                                   .andExpect(status().isCreated())
+                                   .andReturn();
+        var retryResponse = mockMvc.perform(post("/api/customers").header("Idempotency-Key", "create-jane-doe")
+                                                                  .contentType(APPLICATION_JSON)
+                                                                  .content(requestBody))
+                                   .andExpect(status().isCreated())
+                                   .andReturn();
+
+        assertThat(retryResponse.getResponse()
+                                .getContentAsString()).isEqualTo(firstResponse.getResponse()
+                                                                              .getContentAsString());
+        assertThat(customerRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void createNewCustomerWithIdempotencyKeyOfDifferentRequest() throws Exception {
+        mockMvc.perform(post("/api/customers").header("Idempotency-Key", "create-jane-doe")
+                                              .contentType(APPLICATION_JSON)
+                                              .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest())))
+               .andExpect(status().isCreated());
+
+        var otherRequestBody = OBJECT_MAPPER.writeValueAsString(CustomerDto.builder()
+                                                                           .firstName("John")
+                                                                           .lastName("Doe")
+                                                                           .age(33)
+                                                                           .email("john.doe@example.com")
+                                                                           .address("123 street, Amsterdam")
+                                                                           .build());
+        mockMvc.perform(post("/api/customers").header("Idempotency-Key", "create-jane-doe")
+                                              .contentType(APPLICATION_JSON)
+                                              .content(otherRequestBody))
+               .andExpect(status().isUnprocessableEntity())
+               .andExpect(jsonPath("$.errorCode", is("IDEMPOTENCY_KEY_REUSED")));
+        assertThat(customerRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentCreatesWithSameEmailCreateOneCustomer() throws Exception {
+        var executor = Executors.newFixedThreadPool(CONCURRENT_CREATES);
+
+        try {
+            var start = new CountDownLatch(1);
+            var attempts = IntStream.range(0, CONCURRENT_CREATES)
+                                    .mapToObj(attempt -> executor.submit(() -> {
+                                        start.await();
+                                        return customerService.createNewCustomer(newCustomerRequest(), null);
+                                    }))
+                                    .toList();
+            start.countDown();
+
+            var created = 0;
+            for (var attempt : attempts) {
+                try {
+                    attempt.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(CustomerCreationException.class);
+                }
+            }
+
+            assertThat(created).isEqualTo(1);
+            assertThat(customerRepository.findAll()).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+            customerRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentBatchesWithSameEmailCreateOneCustomer() throws Exception {
+        var executor = Executors.newFixedThreadPool(CONCURRENT_CREATES);
+
+        try {
+            var start = new CountDownLatch(1);
+            var attempts = IntStream.range(0, CONCURRENT_CREATES)
+                                    .mapToObj(attempt -> executor.submit(() -> {
+                                        start.await();
+                                        return customerService.createNewCustomers(List.of(newCustomerRequest()));
+                                    }))
+                                    .toList();
+            start.countDown();
+
+            var statuses = new ArrayList<BatchItemStatus>();
+            for (var attempt : attempts) {
+                statuses.add(attempt.get()
+                                    .getFirst()
+                                    .status());
+            }
+
+            assertThat(statuses).containsOnlyOnce(BatchItemStatus.CREATED)
+                                .containsOnly(BatchItemStatus.CREATED, BatchItemStatus.CUSTOMER_EXISTS);
+            assertThat(customerRepository.findAll()).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+            customerRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void createNewCustomersInBatch() throws Exception {
+        givenExistingCustomers();
+
+        var requestBody = """
+            [
+                {
+                    "firstName": "Jane",
+                    "lastName": "Doe",
+                    "email": "jane.doe@example.com",
+                    "age": 31,
+                    "address": "123 street, Amsterdam"
+                },
+                {
+                    "firstName": "Bob",
+                    "lastName": "Jenkins",
+                    "email": "bob.jenkins@example.com",
+                    "age": 33,
+                    "address": "6th street, Almere"
+                },
+                {
+                    "firstName": "J",
+                    "lastName": "Doe",
+                    "email": "john.doe@example.com",
+                    "age": 31,
+                    "address": "123 street, Amsterdam"
+                },
+                {
+                    "firstName": "Janet",
+                    "lastName": "Doe",
+                    "email": "jane.doe@example.com",
+                    "age": 35,
+                    "address": "124 street, Amsterdam"
+                }
+            ]
+            """;
+        var response = mockMvc.perform(post("/api/customers/batch").contentType(APPLICATION_JSON)
+                                                                   .content(requestBody))
+                              .andExpect(status().isOk())
+                              .andExpect(jsonPath("$.results", hasSize(4)))
+                              .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                              .andExpect(jsonPath("$.results[1].status", is("CUSTOMER_EXISTS")))
+                              .andExpect(jsonPath("$.results[2].status", is("VALIDATION_ERROR")))
+                              .andExpect(jsonPath("$.results[2].errors[0].field", is("firstName")))
+                              .andExpect(jsonPath("$.results[3].status", is("CUSTOMER_EXISTS")))
+                              .andReturn();
+
+        String createdGlobalId = JsonPath.read(response.getResponse()
+                                                       .getContentAsString(), "$.results[0].id");
+        assertThat(customerRepository.findByGlobalId(UUID.fromString(createdGlobalId))).get()
+                                                                                       .usingRecursiveComparison()
+                                                                                       .ignoringFields("id", "globalId", "updatedAt")
+                                                                                       .isEqualTo(newCustomer());
+        assertThat(customerRepository.count()).isEqualTo(11);
+    }
+
     @Test
     void getCustomerByIdIsFound() throws Exception {
         givenExistingCustomers();
@@ -91,6 +305,111 @@ class CustomerComponentTests extends AbstractComponentTest {
                            .getContentAsString()).isEqualToIgnoringWhitespace(expectedResponse);
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getCustomerByIdIsServedFromCacheUntilUpdated() throws Exception {
+        givenExistingCustomers();
+
+        try {
+            mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.address", is("2nd street, Den Haag")));
+
+            var customer = customerRepository.findByGlobalId(UUID.fromString("df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                                             .get();
+            customer.setAddress("Changed behind the cache");
+            customerRepository.save(customer);
+
+            mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.address", is("2nd street, Den Haag")));
+
+            var addressRequest = OBJECT_MAPPER.writeValueAsString(new AddressRequest("New address"));
+            mockMvc.perform(put("/api/customers/{id}/address", "df7acb3d-414c-4951-a227-ea1e18a1d4f0")
+                       .content(addressRequest)
+                       .contentType(APPLICATION_JSON))
+                   .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.address", is("New address")));
+        } finally {
+            customerRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void getCustomerByIdWithMatchingETagIsNotModifiedUntilUpdated() throws Exception {
+        givenExistingCustomers();
+        var eTag = mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                          .andExpect(status().isOk())
+                          .andExpect(header().string("ETag", "\"0\""))
+                          .andExpect(header().exists("Last-Modified"))
+                          .andReturn()
+                          .getResponse()
+                          .getHeader("ETag");
+
+        mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0").header("If-None-Match", eTag))
+               .andExpect(status().isNotModified())
+               .andExpect(content().string(""));
+
+        var addressRequest = OBJECT_MAPPER.writeValueAsString(new AddressRequest("New address"));
+        mockMvc.perform(put("/api/customers/{id}/address", "df7acb3d-414c-4951-a227-ea1e18a1d4f0")
+                   .content(addressRequest)
+                   .contentType(APPLICATION_JSON))
+               .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0").header("If-None-Match", eTag))
+               .andExpect(status().isOk())
+               .andExpect(header().string("ETag", "\"1\""))
+               .andExpect(jsonPath("$.address", is("New address")));
+    }
+
+    @Test
+    void getCustomerByIdIsNotModifiedSinceLastModified() throws Exception {
+        givenExistingCustomers();
+        var lastModified = mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                                  .andExpect(status().isOk())
+                                  .andReturn()
+                                  .getResponse()
+                                  .getHeader("Last-Modified");
+
+        mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0").header("If-Modified-Since", lastModified))
+               .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllCustomersWithMatchingETagIsNotModifiedUntilPageChanges() throws Exception {
+        givenExistingCustomers();
+        var eTag = mockMvc.perform(get("/api/customers").param("limit", "3"))
+                          .andExpect(status().isOk())
+                          .andExpect(header().string("ETag", startsWith("W/")))
+                          .andExpect(header().doesNotExist("Last-Modified"))
+                          .andReturn()
+                          .getResponse()
+                          .getHeader("ETag");
+
+        mockMvc.perform(get("/api/customers").param("limit", "3")
+                                             .header("If-None-Match", eTag))
+               .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/customers").param("limit", "4")
+                                             .header("If-None-Match", eTag))
+               .andExpect(status().isOk());
+
+        var addressRequest = OBJECT_MAPPER.writeValueAsString(new AddressRequest("New address"));
+        mockMvc.perform(put("/api/customers/{id}/address", "df7acb3d-414c-4951-a227-ea1e18a1d4f0")
+                   .content(addressRequest)
+                   .contentType(APPLICATION_JSON))
+               .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/customers").param("limit", "3")
+                                             .header("If-None-Match", eTag))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/api/customers").param("limit", "3")
+                                             .header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+               .andExpect(status().isOk());
+    }
+
     @Test
     void getCustomerByIdIsNotFound() throws Exception {
         mockMvc.perform(get("/api/customers/3149927e-85db-4875-b1eb-f97df52a4ab6"))
@@ -99,20 +418,166 @@ class CustomerComponentTests extends AbstractComponentTest {
         ;
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "not-a-uuid",
+        "DF7ACB3D-414C-4951-A227-EA1E18A1D4F0"
+    })
+    void getCustomerByMalformedIdIsNotFound(String globalId) throws Exception {
+        givenExistingCustomers();
+
+        mockMvc.perform(get("/api/customers/{id}", globalId))
+               .andExpect(status().isNotFound())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_NOT_FOUND")));
+    }
+
+    @Test
+    void errorResponsesAreCountedByErrorCode() throws Exception {
+        var notFound = meterRegistry.get("customer.errors")
+                                    .tag("code", "CUSTOMER_NOT_FOUND")
+                                    .counter();
+        var countBefore = notFound.count();
+
+        mockMvc.perform(get("/api/customers/3149927e-85db-4875-b1eb-f97df52a4ab6"))
+               .andExpect(status().isNotFound());
+
+        assertThat(notFound.count()).isEqualTo(countBefore + 1);
+    }
+
     @Test
     void getAllCustomersSuccessfully() throws Exception {
         givenExistingCustomers();
 
         mockMvc.perform(get("/api/customers"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$", hasSize(10)));
+               .andExpect(jsonPath("$.customers", hasSize(10)));
     }
 
     @Test
     void getAllCustomersReturnsEmpty() throws Exception {
         mockMvc.perform(get("/api/customers"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$").isEmpty());
+               .andExpect(jsonPath("$.customers").isEmpty());
+    }
+
+    @Test
+    void getAllCustomersPageByPage() throws Exception {
+        givenExistingCustomers();
+
+        var firstPage = mockMvc.perform(get("/api/customers").queryParam("limit", "4"))
+                               .andExpect(status().isOk())
+                               .andExpect(jsonPath("$.customers", hasSize(4)))
+                               .andExpect(jsonPath("$.customers[0].firstName", is("Bob")))
+                               .andExpect(jsonPath("$.nextCursor").exists())
+                               .andReturn();
+        var secondPage = mockMvc.perform(get("/api/customers").queryParam("limit", "4")
+                                                              .queryParam("cursor", nextCursor(firstPage)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.customers", hasSize(4)))
+                                .andExpect(jsonPath("$.customers[0].firstName", is("Jennifer")))
+                                .andExpect(jsonPath("$.nextCursor").exists())
+                                .andReturn();
+        mockMvc.perform(get("/api/customers").queryParam("limit", "4")
+                                             .queryParam("cursor", nextCursor(secondPage)))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.customers", hasSize(2)))
+               .andExpect(jsonPath("$.customers[0].firstName", is("Sue")))
+               .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void searchCustomersByNamePrefix() throws Exception {
+        givenExistingCustomers();
+
+        mockMvc.perform(get("/api/customers/search").queryParam("q", "Jen"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.customers[*].id", contains("ae820462-8827-49d6-9fa0-be9a0a68231f", "aae20c05-4e09-4048-92b2-cd0557409950")))
+               .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void searchCustomersToleratesTypos() throws Exception {
+        givenExistingCustomers();
+
+        mockMvc.perform(get("/api/customers/search").queryParam("q", "jenifer"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.customers[0].id", is("aae20c05-4e09-4048-92b2-cd0557409950")));
+    }
+
+    @Test
+    void searchCustomersByEmailFragmentWithLimit() throws Exception {
+        givenExistingCustomers();
+
+        mockMvc.perform(get("/api/customers/search").queryParam("q", "rice@")
+                                                    .queryParam("limit", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.customers", hasSize(1)))
+               .andExpect(jsonPath("$.customers[0].lastName", is("Rice")));
+    }
+
+    @Test
+    void getAllCustomersWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/customers").queryParam("cursor", "not a cursor"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode", is("INVALID_CURSOR")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportCustomersAsNdjson() throws Exception {
+        givenExistingCustomers();
+
+        try {
+            var result = mockMvc.perform(get("/api/customers/export"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                   .andExpect(status().isOk())
+                   .andExpect(content().contentType("application/x-ndjson"));
+
+            var lines = result.getResponse()
+                              .getContentAsString()
+                              .lines()
+                              .toList();
+            assertThat(lines).hasSize(10);
+            assertThat(lines.get(0)).isEqualToIgnoringWhitespace("""
+                {
+                    "id": "ae820462-8827-49d6-9fa0-be9a0a68231f",
+                    "firstName": "Bob",
+                    "lastName": "Jenkins",
+                    "email": "bob.jenkins@example.com",
+                    "age": 33,
+                    "address": "6th street, Almere"
+                }
+                """);
+        } finally {
+            customerRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportCustomersAsCsv() throws Exception {
+        givenExistingCustomers();
+
+        try {
+            var result = mockMvc.perform(get("/api/customers/export").queryParam("format", "CSV"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                   .andExpect(status().isOk())
+                   .andExpect(content().contentType("text/csv"));
+
+            var lines = result.getResponse()
+                              .getContentAsString()
+                              .lines()
+                              .toList();
+            assertThat(lines).hasSize(11);
+            assertThat(lines.get(0)).isEqualTo("id,firstName,lastName,email,age,address");
+            assertThat(lines.get(1)).isEqualTo("ae820462-8827-49d6-9fa0-be9a0a68231f,Bob,Jenkins,bob.jenkins@example.com,33,\"6th street, Almere\"");
+        } finally {
+            customerRepository.deleteAll();
+        }
     }
 
     @Test
@@ -121,21 +586,21 @@ class CustomerComponentTests extends AbstractComponentTest {
 
         mockMvc.perform(get("/api/customers").queryParam("firstName", "bob"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$", hasSize(2)))
+               .andExpect(jsonPath("$.customers", hasSize(2)))
                // first customer
-               .andExpect(jsonPath("$[0].firstName", is("Bob")))
-               .andExpect(jsonPath("$[0].lastName", is("Jenkins")))
-               .andExpect(jsonPath("$[0].email", is("bob.jenkins@example.com")))
-               .andExpect(jsonPath("$[0].age", is(33)))
-               .andExpect(jsonPath("$[0].address", is("6th street, Almere")))
-               .andExpect(jsonPath("$[0].id", is("ae820462-8827-49d6-9fa0-be9a0a68231f")))
+               .andExpect(jsonPath("$.customers[0].firstName", is("Bob")))
+               .andExpect(jsonPath("$.customers[0].lastName", is("Jenkins")))
+               .andExpect(jsonPath("$.customers[0].email", is("bob.jenkins@example.com")))
+               .andExpect(jsonPath("$.customers[0].age", is(33)))
+               .andExpect(jsonPath("$.customers[0].address", is("6th street, Almere")))
+               .andExpect(jsonPath("$.customers[0].id", is("ae820462-8827-49d6-9fa0-be9a0a68231f")))
                // second customer
-               .andExpect(jsonPath("$[1].firstName", is("Bob")))
-               .andExpect(jsonPath("$[1].lastName", is("Smith")))
-               .andExpect(jsonPath("$[1].email", is("bob.smith@example.com")))
-               .andExpect(jsonPath("$[1].age", is(55)))
-               .andExpect(jsonPath("$[1].address", is("1st street, Amsterdam")))
-               .andExpect(jsonPath("$[1].id", is("1b685e82-3743-42c3-a6ca-30f187121283")));
+               .andExpect(jsonPath("$.customers[1].firstName", is("Bob")))
+               .andExpect(jsonPath("$.customers[1].lastName", is("Smith")))
+               .andExpect(jsonPath("$.customers[1].email", is("bob.smith@example.com")))
+               .andExpect(jsonPath("$.customers[1].age", is(55)))
+               .andExpect(jsonPath("$.customers[1].address", is("1st street, Amsterdam")))
+               .andExpect(jsonPath("$.customers[1].id", is("1b685e82-3743-42c3-a6ca-30f187121283")));
     }
 
     @Test
@@ -144,7 +609,7 @@ class CustomerComponentTests extends AbstractComponentTest {
 
         mockMvc.perform(get("/api/customers").queryParam("firstName", "Non existent first name"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$").isEmpty());
+               .andExpect(jsonPath("$.customers").isEmpty());
     }
 
     @Test
@@ -153,21 +618,40 @@ class CustomerComponentTests extends AbstractComponentTest {
 
         mockMvc.perform(get("/api/customers").queryParam("lastName", "rice"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$", hasSize(2)))
+               .andExpect(jsonPath("$.customers", hasSize(2)))
                // first customer
-               .andExpect(jsonPath("$[0].firstName", is("Sue")))
-               .andExpect(jsonPath("$[0].lastName", is("Rice")))
-               .andExpect(jsonPath("$[0].email", is("sue.rice@example.com")))
-               .andExpect(jsonPath("$[0].age", is(42)))
-               .andExpect(jsonPath("$[0].address", is("3rd street, Tilburg")))
-               .andExpect(jsonPath("$[0].id", is("c9940b8c-680b-4e5b-95c3-b97a1f1ef692")))
+               .andExpect(jsonPath("$.customers[0].firstName", is("Sue")))
+               .andExpect(jsonPath("$.customers[0].lastName", is("Rice")))
+               .andExpect(jsonPath("$.customers[0].email", is("sue.rice@example.com")))
+               .andExpect(jsonPath("$.customers[0].age", is(42)))
+               .andExpect(jsonPath("$.customers[0].address", is("3rd street, Tilburg")))
+               .andExpect(jsonPath("$.customers[0].id", is("c9940b8c-680b-4e5b-95c3-b97a1f1ef692")))
                // second customer
-               .andExpect(jsonPath("$[1].firstName", is("Tim")))
-               .andExpect(jsonPath("$[1].lastName", is("Rice")))
-               .andExpect(jsonPath("$[1].email", is("tim.rice@example.com")))
-               .andExpect(jsonPath("$[1].age", is(45)))
-               .andExpect(jsonPath("$[1].address", is("3rd street, Tilburg")))
-               .andExpect(jsonPath("$[1].id", is("c40cc016-4296-4c8c-8589-43f57adb5038")));
+               .andExpect(jsonPath("$.customers[1].firstName", is("Tim")))
+               .andExpect(jsonPath("$.customers[1].lastName", is("Rice")))
+               .andExpect(jsonPath("$.customers[1].email", is("tim.rice@example.com")))
+               .andExpect(jsonPath("$.customers[1].age", is(45)))
+               .andExpect(jsonPath("$.customers[1].address", is("3rd street, Tilburg")))
+               .andExpect(jsonPath("$.customers[1].id", is("c40cc016-4296-4c8c-8589-43f57adb5038")));
+    }
+
+    @Test
+    void findCustomersByLastNamePageByPage() throws Exception {
+        givenExistingCustomers();
+
+        var firstPage = mockMvc.perform(get("/api/customers").queryParam("lastName", "rice")
+                                                             .queryParam("limit", "1"))
+                               .andExpect(status().isOk())
+                               .andExpect(jsonPath("$.customers", hasSize(1)))
+                               .andExpect(jsonPath("$.customers[0].firstName", is("Sue")))
+                               .andReturn();
+        mockMvc.perform(get("/api/customers").queryParam("lastName", "rice")
+                                             .queryParam("limit", "1")
+                                             .queryParam("cursor", nextCursor(firstPage)))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.customers", hasSize(1)))
+               .andExpect(jsonPath("$.customers[0].firstName", is("Tim")))
+               .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     @Test
@@ -176,7 +660,7 @@ class CustomerComponentTests extends AbstractComponentTest {
 
         mockMvc.perform(get("/api/customers").queryParam("lastName", "Non existent last name"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$").isEmpty());
+               .andExpect(jsonPath("$.customers").isEmpty());
     }
 
     @Test
@@ -187,13 +671,13 @@ class CustomerComponentTests extends AbstractComponentTest {
                    .queryParam("firstName", "jackie")
                    .queryParam("lastName", "jackson"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$", hasSize(1)))
-               .andExpect(jsonPath("$[0].firstName", is("Jackie")))
-               .andExpect(jsonPath("$[0].lastName", is("Jackson")))
-               .andExpect(jsonPath("$[0].email", is("jackie.jackson@example.com")))
-               .andExpect(jsonPath("$[0].age", is(46)))
-               .andExpect(jsonPath("$[0].address", is("7th street, Zeist")))
-               .andExpect(jsonPath("$[0].id", is("7c8371fe-d085-432d-a66d-7ccb90e48c28")));
+               .andExpect(jsonPath("$.customers", hasSize(1)))
+               .andExpect(jsonPath("$.customers[0].firstName", is("Jackie")))
+               .andExpect(jsonPath("$.customers[0].lastName", is("Jackson")))
+               .andExpect(jsonPath("$.customers[0].email", is("jackie.jackson@example.com")))
+               .andExpect(jsonPath("$.customers[0].age", is(46)))
+               .andExpect(jsonPath("$.customers[0].address", is("7th street, Zeist")))
+               .andExpect(jsonPath("$.customers[0].id", is("7c8371fe-d085-432d-a66d-7ccb90e48c28")));
     }
 
     @Test
@@ -201,7 +685,7 @@ class CustomerComponentTests extends AbstractComponentTest {
         mockMvc.perform(get("/api/customers").queryParam("firstName", "Jen")
                                              .queryParam("lastName", "Jen"))
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$").isEmpty());
+               .andExpect(jsonPath("$.customers").isEmpty());
     }
 
     @Test
@@ -214,7 +698,7 @@ class CustomerComponentTests extends AbstractComponentTest {
                    .contentType(APPLICATION_JSON))
                .andExpect(status().isNoContent());
 
-        var updatedCustomer = customerRepository.findByGlobalId("df7acb3d-414c-4951-a227-ea1e18a1d4f0")
+        var updatedCustomer = customerRepository.findByGlobalId(UUID.fromString("df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
                                                 .get();
         assertThat(updatedCustomer.getAddress()).isEqualTo("New address");
     }
@@ -231,16 +715,150 @@ class CustomerComponentTests extends AbstractComponentTest {
                .andExpect(jsonPath("$.errorCode", is("CUSTOMER_NOT_FOUND")));
     }
 
+    @Test
+    void patchCustomerChangesOnlyGivenFields() throws Exception {
+        givenExistingCustomers();
+
+        mockMvc.perform(patch("/api/customers/{id}", "df7acb3d-414c-4951-a227-ea1e18a1d4f0").contentType(MERGE_PATCH_JSON)
+                                                                                            .content("""
+                                                                                                { "age": 33, "address": "New address" }
+                                                                                                """))
+               .andExpect(status().isOk())
+               .andExpect(header().string("ETag", "\"1\""))
+               .andExpect(jsonPath("$.firstName", is("Dave")))
+               .andExpect(jsonPath("$.age", is(33)))
+               .andExpect(jsonPath("$.address", is("New address")));
+
+        var patchedCustomer = customerRepository.findByGlobalId(UUID.fromString("df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                                                .get();
+        assertThat(patchedCustomer.getEmail()).isEqualTo("dave.yak@example.com");
+        assertThat(patchedCustomer.getAge()).isEqualTo(33);
+        assertThat(patchedCustomer.getAddress()).isEqualTo("New address");
+        assertThat(patchedCustomer.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void patchCustomerWithCurrentETagSucceedsAndWithStaleETagFails() throws Exception {
+        givenExistingCustomers();
+        var eTag = mockMvc.perform(get("/api/customers/df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                          .andReturn()
+                          .getResponse()
+                          .getHeader("ETag");
+
+        mockMvc.perform(patch("/api/customers/{id}", "df7acb3d-414c-4951-a227-ea1e18a1d4f0").header("If-Match", eTag)
+                                                                                            .contentType(MERGE_PATCH_JSON)
+                                                                                            .content("""
+                                                                                                { "address": "First writer" }
+                                                                                                """))
+               .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/customers/{id}", "df7acb3d-414c-4951-a227-ea1e18a1d4f0").header("If-Match", eTag)
+                                                                                            .contentType(MERGE_PATCH_JSON)
+                                                                                            .content("""
+                                                                                                { "address": "Second writer" }
+                                                                                                """))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_MODIFIED")));
+
+        assertThat(customerRepository.findByGlobalId(UUID.fromString("df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                                     .get()
+                                     .getAddress()).isEqualTo("First writer");
+    }
+
+    @Test
+    void patchCustomerWithEmailOfAnotherCustomerFails() throws Exception {
+        givenExistingCustomers();
+
+        mockMvc.perform(patch("/api/customers/{id}", "df7acb3d-414c-4951-a227-ea1e18a1d4f0").contentType(MERGE_PATCH_JSON)
+                                                                                            .content("""
+                                                                                                { "email": "Bob.Smith@example.com" }
+                                                                                                """))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_EXISTS")));
+    }
+
+    @Test
+    void patchCustomerNotFound() throws Exception {
+        mockMvc.perform(patch("/api/customers/{id}", "3149927e-85db-4875-b1eb-f97df52a4ab6").header("If-Match", "\"0\"")
+                                                                                            .contentType(MERGE_PATCH_JSON)
+                                                                                            .content("""
+                                                                                                { "address": "New address" }
+                                                                                                """))
+               .andExpect(status().isNotFound())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_NOT_FOUND")));
+    }
+
+    @Test
+    void updateCustomerAddressesInBatch() throws Exception {
+        givenExistingCustomers();
+
+        var requestBody = """
+            [
+                { "id": "df7acb3d-414c-4951-a227-ea1e18a1d4f0", "address": "New address" },
+                { "id": "non_existent_global_Id", "address": "New address" },
+                { "id": "c9940b8c-680b-4e5b-95c3-b97a1f1ef692", "address": "e" },
+                { "id": "c40cc016-4296-4c8c-8589-43f57adb5038", "address": "Another new address" }
+            ]
+            """;
+        mockMvc.perform(put("/api/customers/batch/address").contentType(APPLICATION_JSON)
+                                                           .content(requestBody))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.results", hasSize(4)))
+               .andExpect(jsonPath("$.results[0].status", is("UPDATED")))
+               .andExpect(jsonPath("$.results[1].status", is("CUSTOMER_NOT_FOUND")))
+               .andExpect(jsonPath("$.results[2].status", is("VALIDATION_ERROR")))
+               .andExpect(jsonPath("$.results[2].errors[0].field", is("address")))
+               .andExpect(jsonPath("$.results[3].status", is("UPDATED")));
+
+        assertThat(customerRepository.findByGlobalId(UUID.fromString("df7acb3d-414c-4951-a227-ea1e18a1d4f0"))
+                                     .get()
+                                     .getAddress()).isEqualTo("New address");
+        assertThat(customerRepository.findByGlobalId(UUID.fromString("c9940b8c-680b-4e5b-95c3-b97a1f1ef692"))
+                                     .get()
+                                     .getAddress()).isEqualTo("3rd street, Tilburg");
+        assertThat(customerRepository.findByGlobalId(UUID.fromString("c40cc016-4296-4c8c-8589-43f57adb5038"))
+                                     .get()
+                                     .getAddress()).isEqualTo("Another new address");
+    }
+
+    @Test
+    void customersCreatedWithoutJpaTakeTheirIdsFromTheSameBlocks() throws Exception {
+        givenExistingCustomers();
+
+        mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                              .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest())))
+               .andExpect(status().isCreated());
+        customerRepository.insertAllIfAbsent(IntStream.range(0, 2)
+                                                      .mapToObj(i -> {
+                                                          var customer = newCustomer();
+                                                          customer.setEmail("customer%d@example.com".formatted(i));
+                                                          return customer;
+                                                      })
+                                                      .toList());
+
+        var ids = customerRepository.findAll()
+                                    .stream()
+                                    .map(Customer::getId)
+                                    .toList();
+        assertThat(ids).hasSize(13)
+                       .doesNotHaveDuplicates();
+        assertThat(Collections.max(ids) - Collections.min(ids)).isLessThan(100);
+    }
+
     private void givenExistingCustomers() {
         try {
             var customers = OBJECT_MAPPER.readValue(new ClassPathResource("data/customers.json").getInputStream(), new TypeReference<List<Customer>>(){});
 
-            customerRepository.saveAll(customers);
+            customerRepository.saveAllAndFlush(customers);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private String nextCursor(MvcResult result) throws IOException {
+        return JsonPath.read(result.getResponse()
+                                   .getContentAsString(), "$.nextCursor");
+    }
+
     private CustomerDto newCustomerRequest() {
         return CustomerDto.builder()
                           .firstName("Jane")
@@ -258,7 +876,7 @@ class CustomerComponentTests extends AbstractComponentTest {
         customer.setLastName("Doe");
         customer.setAge(31);
         customer.setEmail("jane.doe@example.com");
-        customer.setGlobalId(UUID.randomUUID().toString());
+        customer.setGlobalId(UUID.randomUUID());
         customer.setAddress("123 street, Amsterdam");
 
         return customer;
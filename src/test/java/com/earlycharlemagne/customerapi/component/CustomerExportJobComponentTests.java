@@ -0,0 +1,204 @@
+package com.earlycharlemagne.customerapi.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+import com.earlycharlemagne.customerapi.customer.export.CustomerExportJob;
+import com.earlycharlemagne.customerapi.customer.export.ExportJobProperties;
+import com.earlycharlemagne.customerapi.customer.export.ExportJobResult;
+import com.earlycharlemagne.customerapi.customer.id.GlobalIds;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "customerapi.export-job.directory=target/export-test",
+    "customerapi.export-job.range-size=" + CustomerExportJobComponentTests.RANGE_SIZE,
+    "customerapi.export-job.workers=3",
+    "customerapi.outbox.relay-interval=200ms"
+})
+class CustomerExportJobComponentTests extends AbstractComponentTest {
+    private static final Path DIRECTORY = Path.of("target/export-test");
+    private static final int CUSTOMERS = 25;
+    static final int RANGE_SIZE = 10;
+    private static final String EXPORT_LOCK_HELD = """
+        select exists (
+            select from pg_locks
+            where locktype = 'advisory' and objsubid = 1 and granted
+              and ((classid::bigint << 32) | objid::bigint) = hashtext('customer_export_job')::bigint
+        )
+        """;
+
+    @Autowired
+    CustomerExportJob exportJob;
+    @Autowired
+    CustomerService customerService;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TaskScheduler taskScheduler;
+    @Autowired
+    ExportJobProperties properties;
+
+    @BeforeEach
+    void createCustomers() throws IOException {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+        customerRepository.insertAllIfAbsent(IntStream.range(0, CUSTOMERS)
+                                                      .mapToObj(this::newCustomer)
+                                                      .toList());
+    }
+
+    @AfterEach
+    void deleteCustomers() {
+        await().atMost(Duration.ofSeconds(30))
+               .until(() -> !exportInProgress());
+        properties.setMaxRowsPerSecond(0);
+        customerRepository.deleteAll();
+        jdbcTemplate.update("delete from customer_changes");
+    }
+
+    @Test
+    void everyCustomerIsExportedOnceAcrossRanges() throws IOException {
+        var result = exportJob.run()
+                              .orElseThrow();
+
+        assertThat(result.ranges()).isGreaterThan(1);
+        assertThat(result.skippedRanges()).isZero();
+        assertThat(result.exportedRows()).isEqualTo(CUSTOMERS);
+        assertThat(exportedEmails()).hasSize(CUSTOMERS)
+                                    .doesNotHaveDuplicates();
+        assertThat(DIRECTORY.resolve("export.checkpoint")).doesNotExist();
+    }
+
+    @Test
+    void interruptedExportResumesFromCheckpoint() throws IOException {
+        var minId = customerRepository.findMinId()
+                                      .orElseThrow();
+        var firstRange = Math.floorDiv(minId, RANGE_SIZE) * RANGE_SIZE + "-" + (Math.floorDiv(minId, RANGE_SIZE) * RANGE_SIZE + RANGE_SIZE);
+        Files.createDirectories(DIRECTORY);
+        Files.writeString(DIRECTORY.resolve("export.checkpoint"), firstRange + "\n");
+
+        var result = exportJob.run()
+                              .orElseThrow();
+
+        assertThat(result.skippedRanges()).isEqualTo(1);
+        assertThat(result.exportedRows()).isLessThan(CUSTOMERS);
+        assertThat(exportedEmails()).hasSize((int) result.exportedRows());
+    }
+
+    @Test
+    void runIsSkippedWhileAnotherInstanceHoldsTheLock() throws Exception {
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (var statement = connection.createStatement()) {
+                statement.execute("select pg_advisory_xact_lock(hashtext('customer_export_job'))");
+            }
+
+            assertThat(exportJob.run()).isEmpty();
+            assertThat(DIRECTORY).doesNotExist();
+
+            connection.rollback();
+        }
+
+        assertThat(exportJob.run()).get()
+                                   .extracting(ExportJobResult::exportedRows)
+                                   .isEqualTo((long) CUSTOMERS);
+    }
+
+    /**
+     * Started through the application's scheduler like the cron trigger, and throttled to take several seconds; the
+     * relay runs on the same scheduler and has to keep publishing meanwhile.
+     */
+    @Test
+    void changesArePublishedWhileAScheduledExportRuns() {
+        properties.setMaxRowsPerSecond(5);
+        var globalId = jdbcTemplate.queryForObject("select global_id from customers limit 1", UUID.class);
+
+        taskScheduler.schedule(exportJob::runScheduled, Instant.now());
+        await().atMost(Duration.ofSeconds(5))
+               .until(this::exportInProgress);
+        customerService.updateExistingCustomerAddress(globalId.toString(), "1 new street, Amsterdam");
+
+        await().atMost(Duration.ofSeconds(3))
+               .until(() -> jdbcTemplate.queryForObject("select count(*) from customer_changes where position is null", Long.class) == 0);
+        assertThat(exportInProgress()).isTrue();
+    }
+
+    private boolean exportInProgress() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXPORT_LOCK_HELD, Boolean.class));
+    }
+
+    private List<String> exportedEmails() throws IOException {
+        List<String> emails = new ArrayList<>();
+        try (Stream<Path> files = Files.list(DIRECTORY)) {
+            for (Path file : files.filter(path -> path.toString()
+                                                      .endsWith(".ndjson.gz"))
+                                  .toList()) {
+                try (var reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                    reader.lines()
+                          .map(this::readEmail)
+                          .forEach(emails::add);
+                }
+            }
+        }
+
+        return emails;
+    }
+
+    private String readEmail(String line) {
+        try {
+            return OBJECT_MAPPER.readTree(line)
+                                .get("email")
+                                .asText();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Customer newCustomer(int i) {
+        Customer customer = customerService.mapToCustomer(CustomerDto.builder()
+                                                                     .firstName("Jane")
+                                                                     .lastName("Doe")
+                                                                     .age(31)
+                                                                     .email("jane.doe.%d@example.com".formatted(i))
+                                                                     .address("123 street, Amsterdam")
+                                                                     .build());
+        customer.setGlobalId(GlobalIds.generate());
+
+        return customer;
+    }
+}
@@ -0,0 +1,131 @@
+package com.earlycharlemagne.customerapi.component;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerIdResponse;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+
+@AutoConfigureMockMvc
+@WithMockUser(username = "api_user", password = "verysecurepassword")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "customerapi.ingestion.enabled=true",
+    "customerapi.ingestion.journal.enabled=true",
+    "customerapi.ingestion.journal.path=target/ingestion-test.journal"
+})
+class CustomerIngestionComponentTests extends AbstractComponentTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void deleteCustomers() {
+        customerRepository.deleteAll();
+        jdbcTemplate.update("delete from customer_idempotency_keys");
+    }
+
+    @Test
+    void acceptedCustomerIsCreatedInTheBackground() throws Exception {
+        var globalId = acceptCustomer(newCustomerRequest("jane.doe@example.com"));
+
+        awaitStatus(globalId, "CREATED");
+        mockMvc.perform(get("/api/customers/{id}", globalId))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.email", is("jane.doe@example.com")));
+    }
+
+    @Test
+    void acceptedCustomerWithExistingEmailIsReportedAsExisting() throws Exception {
+        var createdGlobalId = acceptCustomer(newCustomerRequest("jane.doe@example.com"));
+        awaitStatus(createdGlobalId, "CREATED");
+
+        var duplicateGlobalId = acceptCustomer(newCustomerRequest("Jane.Doe@example.com"));
+
+        awaitStatus(duplicateGlobalId, "CUSTOMER_EXISTS");
+        mockMvc.perform(get("/api/customers/{id}", duplicateGlobalId))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void customerIsCreatedSynchronouslyWithoutPreferHeader() throws Exception {
+        mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                              .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest("jane.doe@example.com"))))
+               .andExpect(status().isCreated());
+    }
+
+    @Test
+    void customerIsCreatedSynchronouslyWithIdempotencyKey() throws Exception {
+        mockMvc.perform(post("/api/customers").header("Prefer", "respond-async")
+                                              .header("Idempotency-Key", "async-create-jane-doe")
+                                              .contentType(APPLICATION_JSON)
+                                              .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest("jane.doe@example.com"))))
+               .andExpect(status().isCreated());
+    }
+
+    @Test
+    void statusOfUnknownCustomerIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/customers/ingestion/{id}", "3149927e-85db-4875-b1eb-f97df52a4ab6"))
+               .andExpect(status().isNotFound())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_NOT_FOUND")));
+    }
+
+    private String acceptCustomer(CustomerDto customerDto) throws Exception {
+        var response = mockMvc.perform(post("/api/customers").header("Prefer", "respond-async")
+                                                             .contentType(APPLICATION_JSON)
+                                                             .content(OBJECT_MAPPER.writeValueAsString(customerDto)))
+                              .andExpect(status().isAccepted())
+                              .andExpect(header().string("Preference-Applied", "respond-async"))
+                              .andReturn();
+        var globalId = OBJECT_MAPPER.readValue(response.getResponse()
+                                                       .getContentAsString(), CustomerIdResponse.class)
+                                    .id();
+
+        mockMvc.perform(get(response.getResponse()
+                                    .getHeader("Location")))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.id", is(globalId)));
+
+        return globalId;
+    }
+
+    private void awaitStatus(String globalId, String status) {
+        await().atMost(Duration.ofSeconds(10))
+               .pollInSameThread()
+               .untilAsserted(() -> mockMvc.perform(get("/api/customers/ingestion/{id}", globalId))
+                                           .andExpect(jsonPath("$.status", is(status))));
+    }
+
+    private CustomerDto newCustomerRequest(String email) {
+        return CustomerDto.builder()
+                          .firstName("Jane")
+                          .lastName("Doe")
+                          .age(31)
+                          .email(email)
+                          .address("123 street, Amsterdam")
+                          .build();
+    }
+}
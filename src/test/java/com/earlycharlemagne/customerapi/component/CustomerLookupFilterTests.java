@@ -0,0 +1,78 @@
+package com.earlycharlemagne.customerapi.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerIdResponse;
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+
+@AutoConfigureMockMvc
+@WithMockUser(username = "api_user", password = "verysecurepassword")
+@TestPropertySource(properties = "customerapi.lookup-filter.enabled=true")
+class CustomerLookupFilterTests extends AbstractComponentTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Test
+    void customerCreatedThroughApiIsFound() throws Exception {
+        var requestBody = OBJECT_MAPPER.writeValueAsString(CustomerDto.builder()
+                                                                      .firstName("Jane")
+                                                                      .lastName("Doe")
+                                                                      .age(31)
+                                                                      .email("jane.doe@example.com")
+                                                                      .address("123 street, Amsterdam")
+                                                                      .build());
+        var response = mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                                             .content(requestBody))
+                              .andExpect(status().isCreated())
+                              .andReturn();
+        var globalId = OBJECT_MAPPER.readValue(response.getResponse()
+                                                       .getContentAsString(), CustomerIdResponse.class)
+                                    .id();
+        cacheManager.getCache("customers")
+                    .clear();
+
+        mockMvc.perform(get("/api/customers/{id}", globalId))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.email", is("jane.doe@example.com")));
+        mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                              .content(requestBody))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_EXISTS")));
+    }
+
+    @Test
+    void customerUnknownToFilterIsNotLookedUpInDatabase() throws Exception {
+        var customer = new Customer();
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setAge(31);
+        customer.setEmail("jane.doe@example.com");
+        customer.setGlobalId(UUID.randomUUID());
+        customer.setAddress("123 street, Amsterdam");
+        customerRepository.save(customer);
+
+        assertThat(customerRepository.findByGlobalId(customer.getGlobalId())).isPresent();
+        mockMvc.perform(get("/api/customers/{id}", customer.getGlobalId()))
+               .andExpect(status().isNotFound())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_NOT_FOUND")));
+    }
+}
@@ -0,0 +1,75 @@
+package com.earlycharlemagne.customerapi.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks that the lookups issued by {@code CustomerRepository} can be served by the indexes from the migrations, and
+ * that lookups by globalId are pruned to a single partition of {@code customers}. The test table is tiny, so
+ * sequential scans are disabled to make the planner reveal whether an index applies.
+ */
+class CustomerQueryPlanTests extends AbstractComponentTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("set local enable_seqscan = off");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "select * from customers where lower(first_name) = lower('Bob') and id > 0 order by id limit 101 | lower((first_name)::text)",
+        "select * from customers where lower(last_name) = lower('Rice') and id > 0 order by id limit 101 | lower((last_name)::text)",
+        "select * from customers where id > 0 order by id limit 101                                      | customers_p00_pkey"
+    })
+    void lookupUsesIndex(String query, String expectedIndexCondition) {
+        var plan = explain(query);
+
+        assertThat(plan).contains(expectedIndexCondition)
+                        .doesNotContain("Seq Scan");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "select * from customers where global_id = 'aae20c05-4e09-4048-92b2-cd0557409950'",
+        "update customers set address = 'New address' where global_id = 'aae20c05-4e09-4048-92b2-cd0557409950'"
+    })
+    void globalIdLookupIsPrunedToOnePartition(String query) {
+        var plan = explain(query);
+
+        assertThat(plan).containsOnlyOnce("Index Scan using customers_p")
+                        .contains("global_id")
+                        .doesNotContain("Seq Scan");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "select count(*) from customer_emails where email = lower('Bob.Jenkins@example.com')",
+        "select email from customer_emails where email in ('bob.jenkins@example.com', 'sue.rice@example.com')"
+    })
+    void emailLookupUsesClaimedEmails(String query) {
+        assertThat(explain(query)).contains("customer_emails_pkey")
+                                  .doesNotContain("Seq Scan");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "select * from customers where 'jenifer' <% lower(first_name || ' ' || last_name || ' ' || email)",
+        "select * from customers where lower(first_name || ' ' || last_name || ' ' || email) like '%rice@%'"
+    })
+    void searchUsesTrigramIndex(String query) {
+        assertThat(explain(query)).contains("Bitmap Index Scan")
+                                  .doesNotContain("Seq Scan");
+    }
+
+    private String explain(String query) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + query, String.class));
+    }
+}
@@ -0,0 +1,171 @@
+package com.earlycharlemagne.customerapi.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.earlycharlemagne.customerapi.customer.entity.Customer;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+@AutoConfigureMockMvc
+@ActiveProfiles("reactive")
+@WithMockUser(username = "api_user", password = "verysecurepassword")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReactiveCustomerComponentTests extends AbstractComponentTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @DynamicPropertySource
+    static void overrideR2dbcProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(POSTGRES_SQL_CONTAINER.getHost(),
+                                                                                      POSTGRES_SQL_CONTAINER.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                                                                                      POSTGRES_SQL_CONTAINER.getDatabaseName()));
+        registry.add("spring.r2dbc.username", POSTGRES_SQL_CONTAINER::getUsername);
+        registry.add("spring.r2dbc.password", POSTGRES_SQL_CONTAINER::getPassword);
+    }
+
+    @AfterEach
+    void deleteCustomers() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void getAllCustomersStreamsNdjson() throws Exception {
+        givenExistingCustomers();
+
+        var result = getPage(get("/api/reactive/customers"));
+
+        assertThat(result.getResponse()
+                         .getContentType()).isEqualTo("application/x-ndjson");
+        var lines = lines(result);
+        assertThat(lines).hasSize(10);
+        assertThat(lines.get(0)).isEqualToIgnoringWhitespace("""
+            {"id":"ae820462-8827-49d6-9fa0-be9a0a68231f","firstName":"Bob","lastName":"Jenkins","email":"bob.jenkins@example.com","age":33,"address":"6th street, Almere"}""");
+    }
+
+    @Test
+    void getAllCustomersIsPagedThroughTheLinkHeader() throws Exception {
+        givenExistingCustomers();
+
+        var firstPage = getPage(get("/api/reactive/customers").queryParam("limit", "4"));
+        var secondPage = getPage(get(nextPage(firstPage)));
+        var lastPage = getPage(get(nextPage(secondPage)));
+
+        assertThat(lines(firstPage)).hasSize(4);
+        assertThat(lines(secondPage)).hasSize(4)
+                                     .doesNotContainAnyElementsOf(lines(firstPage));
+        assertThat(lines(lastPage)).hasSize(2);
+        assertThat(lastPage.getResponse()
+                           .getHeader(HttpHeaders.LINK)).isNull();
+    }
+
+    @Test
+    void getAllCustomersRejectsLimitAboveMaximum() throws Exception {
+        mockMvc.perform(get("/api/reactive/customers").param("limit", "1001"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode", is("VALIDATION_ERROR")));
+    }
+
+    @Test
+    void getCustomersByFirstAndLastNameIgnoresCase() throws Exception {
+        givenExistingCustomers();
+
+        var result = getPage(get("/api/reactive/customers").param("firstName", "sue")
+                                                           .param("lastName", "RICE"));
+
+        assertThat(lines(result)).singleElement()
+                                  .asString()
+                                  .contains("\"id\":\"c9940b8c-680b-4e5b-95c3-b97a1f1ef692\"");
+    }
+
+    @Test
+    void getCustomerByIdIsFound() throws Exception {
+        givenExistingCustomers();
+
+        var result = mockMvc.perform(get("/api/reactive/customers/{id}", "aae20c05-4e09-4048-92b2-cd0557409950"))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.firstName", is("Jennifer")));
+    }
+
+    @Test
+    void getCustomerByIdIsNotFound() throws Exception {
+        var result = mockMvc.perform(get("/api/reactive/customers/{id}", "3149927e-85db-4875-b1eb-f97df52a4ab6"))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isNotFound())
+               .andExpect(jsonPath("$.errorCode", is("CUSTOMER_NOT_FOUND")));
+    }
+
+    /**
+     * The page is read asynchronously and then written as a stream, which MockMvc sees as two async dispatches.
+     */
+    private MvcResult getPage(MockHttpServletRequestBuilder pageRequest) throws Exception {
+        var read = mockMvc.perform(pageRequest)
+                          .andExpect(request().asyncStarted())
+                          .andReturn();
+        var written = mockMvc.perform(asyncDispatch(read))
+                             .andExpect(request().asyncStarted())
+                             .andReturn();
+
+        return mockMvc.perform(asyncDispatch(written))
+                      .andExpect(status().isOk())
+                      .andReturn();
+    }
+
+    private static URI nextPage(MvcResult page) {
+        var link = page.getResponse()
+                       .getHeader(HttpHeaders.LINK);
+        assertThat(link).endsWith("; rel=\"next\"");
+
+        return URI.create(link.substring(1, link.indexOf('>')));
+    }
+
+    private static List<String> lines(MvcResult page) throws IOException {
+        return page.getResponse()
+                   .getContentAsString()
+                   .lines()
+                   .toList();
+    }
+
+    private void givenExistingCustomers() {
+        try {
+            var customers = OBJECT_MAPPER.readValue(new ClassPathResource("data/customers.json").getInputStream(), new TypeReference<List<Customer>>(){});
+
+            customerRepository.saveAll(customers);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.earlycharlemagne.customerapi.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import com.earlycharlemagne.customerapi.customer.dto.AddressRequest;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.replica.ReplicaDataSource;
+
+/**
+ * The replica is a second, independent database rather than a streaming standby, so a row that only exists there
+ * shows which database a read went to.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(username = "api_user", password = "verysecurepassword")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaComponentTests extends AbstractComponentTest {
+    private static final String UNREACHABLE_REPLICA_URL = "jdbc:postgresql://localhost:1/customerapi_db";
+
+    @Container
+    static final PostgreSQLContainer<?> REPLICA_CONTAINER = new PostgreSQLContainer<>("postgres:15.3");
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ReplicaDataSource replicaDataSource;
+    @Autowired
+    JdbcTemplate primary;
+
+    JdbcTemplate replica;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        REPLICA_CONTAINER.start();
+        Flyway.configure()
+              .dataSource(REPLICA_CONTAINER.getJdbcUrl(), REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword())
+              .load()
+              .migrate();
+
+        registry.add("customerapi.replicas.enabled", () -> "true");
+        registry.add("customerapi.replicas.connection-timeout", () -> "250ms");
+        registry.add("customerapi.replicas.instances[0].url", REPLICA_CONTAINER::getJdbcUrl);
+        registry.add("customerapi.replicas.instances[0].username", REPLICA_CONTAINER::getUsername);
+        registry.add("customerapi.replicas.instances[0].password", REPLICA_CONTAINER::getPassword);
+        registry.add("customerapi.replicas.instances[1].url", () -> UNREACHABLE_REPLICA_URL);
+    }
+
+    @BeforeEach
+    void connectToReplica() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_CONTAINER.getJdbcUrl(),
+                                                               REPLICA_CONTAINER.getUsername(),
+                                                               REPLICA_CONTAINER.getPassword()));
+    }
+
+    @AfterEach
+    void deleteCustomers() {
+        primary.update("delete from customers");
+        replica.update("delete from customers");
+    }
+
+    @Test
+    void readsGoToTheReplica() throws Exception {
+        var globalId = UUID.randomUUID();
+        insert(replica, globalId, "replica.only@example.com", "1 replica lane");
+
+        mockMvc.perform(get("/api/customers/{id}", globalId))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.email", is("replica.only@example.com")));
+        mockMvc.perform(get("/api/customers"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.customers[*].email", contains("replica.only@example.com")));
+    }
+
+    @Test
+    void recentlyWrittenCustomersReadFromTheReplicaAreNotCached() throws Exception {
+        var globalId = UUID.randomUUID();
+        insert(primary, globalId, "jane.doe@example.com", "1 old street, Utrecht");
+        insert(replica, globalId, "jane.doe@example.com", "1 old street, Utrecht");
+
+        mockMvc.perform(put("/api/customers/{id}/address", globalId).header("X-Client-Id", "writer")
+                                                                    .contentType(APPLICATION_JSON)
+                                                                    .content(OBJECT_MAPPER.writeValueAsString(new AddressRequest("2 new street, Amsterdam"))))
+               .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/customers/{id}", globalId).header("X-Client-Id", "reader"))
+               .andExpect(jsonPath("$.address", is("1 old street, Utrecht")));
+
+        replica.update("update customers set address = '2 new street, Amsterdam' where global_id = ?", globalId);
+
+        mockMvc.perform(get("/api/customers/{id}", globalId).header("X-Client-Id", "reader"))
+               .andExpect(jsonPath("$.address", is("2 new street, Amsterdam")));
+    }
+
+    @Test
+    void clientsWithoutTheHeaderAreNeverKeptOnThePrimary() throws Exception {
+        insert(replica, UUID.randomUUID(), "replica.only@example.com", "1 replica lane");
+
+        mockMvc.perform(post("/api/customers").contentType(APPLICATION_JSON)
+                                              .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest())))
+               .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/customers"))
+               .andExpect(jsonPath("$.customers[*].email", contains("replica.only@example.com")));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndTheWriterReadsThemFromThePrimary() throws Exception {
+        mockMvc.perform(post("/api/customers").header("X-Client-Id", "writer")
+                                              .contentType(APPLICATION_JSON)
+                                              .content(OBJECT_MAPPER.writeValueAsString(newCustomerRequest())))
+               .andExpect(status().isCreated());
+
+        assertThat(primary.queryForObject("select count(*) from customers", Long.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from customers", Long.class)).isZero();
+        mockMvc.perform(get("/api/customers").header("X-Client-Id", "writer"))
+               .andExpect(jsonPath("$.customers[*].email", contains("jane.doe@example.com")));
+        mockMvc.perform(get("/api/customers").header("X-Client-Id", "reader"))
+               .andExpect(jsonPath("$.customers", hasSize(0)));
+    }
+
+    @Test
+    void unreachableReplicaIsTakenOutOfRotation() throws Exception {
+        insert(replica, UUID.randomUUID(), "replica.only@example.com", "1 replica lane");
+
+        replicaDataSource.checkHealth();
+
+        assertThat(replicaDataSource.healthyReplicas()).isEqualTo(1);
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/api/customers").header("X-Client-Id", "reader"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.customers[*].email", contains("replica.only@example.com")));
+        }
+    }
+
+    private static void insert(JdbcTemplate database, UUID globalId, String email, String address) {
+        database.update("""
+                            insert into customers (id, global_id, first_name, last_name, email, age, address)
+                            values (nextval('customers_seq'), ?, 'Jane', 'Doe', ?, 30, ?)
+                            """, globalId, email, address);
+    }
+
+    private CustomerDto newCustomerRequest() {
+        return CustomerDto.builder()
+                          .firstName("Jane")
+                          .lastName("Doe")
+                          .age(31)
+                          .email("jane.doe@example.com")
+                          .address("123 street, Amsterdam")
+                          .build();
+    }
+}
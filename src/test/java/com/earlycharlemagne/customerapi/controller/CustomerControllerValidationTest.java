@@ -2,6 +2,8 @@ package com.earlycharlemagne.customerapi.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -14,6 +16,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -25,9 +28,13 @@ import com.earlycharlemagne.customerapi.customer.dto.ValidationError;
 import com.earlycharlemagne.customerapi.customer.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @WebMvcTest(CustomerController.class)
+@Import(SimpleMeterRegistry.class)
 class CustomerControllerValidationTest {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
 
     @MockBean
     CustomerService customerService;
@@ -58,6 +65,26 @@ class CustomerControllerValidationTest {
                               .andExpect(status().isCreated());
     }
 
+    @Test
+    void idempotencyKeyIsTooLong() throws Exception {
+        var requestBody = """
+            {
+                "firstName": "Jane",
+                "lastName": "Doe",
+                "email": "jane.doe@example.com",
+                "age": 31,
+                "address": "123 street, Amsterdam"
+            }
+            """;
+        mockMvc.perform(post("/api/customers")
+                   .header("Idempotency-Key", "k".repeat(256))
+                   .contentType(APPLICATION_JSON)
+                   .content(requestBody))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+               .andExpect(jsonPath("$.errors[?(@.field=='idempotencyKey' && @.message=='Idempotency key must be between 1 and 255 characters')]").exists());
+    }
+
     @Test
     void customerRequestBodyIsNotValid() throws Exception {
         var emptyRequestBody = "{}";
@@ -172,6 +199,71 @@ class CustomerControllerValidationTest {
         response.andExpect(jsonPath("$.errors[?(@.field=='address' && @.message=='Length of address must be between 2 and 255 characters')]").exists());
     }
 
+    @Test
+    void patchingWithInvalidFieldsIsInvalid() throws Exception {
+        var invalidPatch = """
+            {
+              "email": " ",
+              "age": 17
+            }
+            """;
+        mockMvc.perform(patch("/api/customers/{id}", "df7acb3d-414c-4951-a227-ea1e18a1d4f0")
+                   .contentType(MERGE_PATCH_JSON)
+                   .content(invalidPatch))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+               .andExpect(jsonPath("$.errors[?(@.field=='email' && @.message=='Email is required')]").exists())
+               .andExpect(jsonPath("$.errors[?(@.field=='age' && @.message=='Age must be 18 and above')]").exists());
+    }
+
+    @Test
+    void patchingFieldToNullIsRejected() throws Exception {
+        mockMvc.perform(patch("/api/customers/{id}", "df7acb3d-414c-4951-a227-ea1e18a1d4f0")
+                   .contentType(MERGE_PATCH_JSON)
+                   .content("""
+                       { "address": null }
+                       """))
+               .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "1001"})
+    void pageLimitIsOutOfRange(String limit) throws Exception {
+        mockMvc.perform(get("/api/customers").queryParam("limit", limit))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+               .andExpect(jsonPath("$.errors[?(@.field=='limit' && @.message=='Limit must be between 1 and 1000')]").exists());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ab", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"})
+    void searchQueryLengthIsOutOfRange(String query) throws Exception {
+        mockMvc.perform(get("/api/customers/search").queryParam("q", query))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+               .andExpect(jsonPath("$.errors[?(@.field=='q' && @.message=='Search query must be between 3 and 100 characters')]").exists());
+    }
+
+    @Test
+    void customerBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/api/customers/batch")
+                   .contentType(APPLICATION_JSON)
+                   .content("[]"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+               .andExpect(jsonPath("$.errors[?(@.field=='customerDtos' && @.message=='Batch must contain between 1 and 1000 customers')]").exists());
+    }
+
+    @Test
+    void addressUpdateBatchIsEmpty() throws Exception {
+        mockMvc.perform(put("/api/customers/batch/address")
+                   .contentType(APPLICATION_JSON)
+                   .content("[]"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+               .andExpect(jsonPath("$.errors[?(@.field=='addressUpdates' && @.message=='Batch must contain between 1 and 1000 address updates')]").exists());
+    }
+
     private ResultActions createCustomerWithInvalidData(String content) throws Exception {
         return mockMvc.perform(post("/api/customers")
                           .content(content)
@@ -0,0 +1,91 @@
+package com.earlycharlemagne.customerapi.customer.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CustomerDtoSerializerTest {
+    private final ObjectMapper beanSerializerMapper = Jackson2ObjectMapperBuilder.json()
+                                                                                 .build();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                                         .serializers(new CustomerDtoSerializer())
+                                                                         .build();
+
+    static List<CustomerDto> customers() {
+        return List.of(CustomerDto.builder()
+                                  .id("01890a5d-ac96-774b-bcce-b302099a8057")
+                                  .firstName("Jane")
+                                  .lastName("O'Doe \"Jr\"")
+                                  .email("jane.doe@example.com")
+                                  .age(31)
+                                  .address("123 straße, Amsterdam\n2nd floor")
+                                  .version(3L)
+                                  .updatedAt(Instant.parse("2024-01-01T00:00:00Z"))
+                                  .build(),
+                       CustomerDto.builder()
+                                  .firstName("Jane")
+                                  .build());
+    }
+
+    @ParameterizedTest
+    @MethodSource("customers")
+    void writesTheSameJsonAsTheBeanSerializer(CustomerDto customer) throws Exception {
+        assertThat(objectMapper.writeValueAsString(customer)).isEqualTo(beanSerializerMapper.writeValueAsString(customer));
+    }
+
+    /**
+     * Sets every field, so a field added to {@code CustomerDto} but not to the serializer fails here.
+     */
+    @Test
+    void writesEveryPropertyTheBeanSerializerWrites() throws Exception {
+        var fields = Arrays.stream(CustomerDto.class.getDeclaredFields())
+                           .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                           .toList();
+        var constructor = CustomerDto.class.getDeclaredConstructor(fields.stream()
+                                                                         .map(Field::getType)
+                                                                         .toArray(Class<?>[]::new));
+        constructor.setAccessible(true);
+        var customer = constructor.newInstance(fields.stream()
+                                                     .map(CustomerDtoSerializerTest::sampleValue)
+                                                     .toArray());
+
+        assertThat(objectMapper.writeValueAsString(customer)).isEqualTo(beanSerializerMapper.writeValueAsString(customer));
+    }
+
+    @ParameterizedTest
+    @MethodSource("customers")
+    void writesTheSamePageAsTheBeanSerializer(CustomerDto customer) throws Exception {
+        var page = new CustomerPageResponse(List.of(customer, customer), "next");
+
+        assertThat(objectMapper.writeValueAsString(page)).isEqualTo(beanSerializerMapper.writeValueAsString(page));
+    }
+
+    private static Object sampleValue(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName() + " value";
+        }
+        if (type == Integer.class) {
+            return 42;
+        }
+        if (type == Long.class) {
+            return 7L;
+        }
+        if (type == Instant.class) {
+            return Instant.parse("2024-01-01T00:00:00Z");
+        }
+
+        throw new IllegalStateException("No sample value for CustomerDto.%s of type %s".formatted(field.getName(), type.getName()));
+    }
+}
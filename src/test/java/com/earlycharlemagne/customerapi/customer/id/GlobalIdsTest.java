@@ -0,0 +1,36 @@
+package com.earlycharlemagne.customerapi.customer.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GlobalIdsTest {
+    @Test
+    void canonicalIdIsParsed() {
+        var globalId = GlobalIds.generate();
+
+        assertThat(GlobalIds.parse(globalId.toString())).contains(globalId);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "not-a-uuid",
+        "1-1-1-1-1",
+        "AE820462-8827-49D6-9FA0-BE9A0A68231F",
+        "ae820462-8827-49d6-9fa0-be9a0a68231f0"
+    })
+    void nonCanonicalIdIsRejected(String globalId) {
+        assertThat(GlobalIds.parse(globalId)).isEmpty();
+    }
+
+    @Test
+    void randomUuidIsStillAccepted() {
+        var globalId = UUID.randomUUID();
+
+        assertThat(GlobalIds.parse(globalId.toString())).contains(globalId);
+    }
+}
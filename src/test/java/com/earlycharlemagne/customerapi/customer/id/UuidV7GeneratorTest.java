@@ -0,0 +1,41 @@
+package com.earlycharlemagne.customerapi.customer.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void idsAreVersion7WithTheTimestampUpFront() {
+        var globalId = new UuidV7Generator().next(NOW);
+
+        assertThat(globalId.version()).isEqualTo(7);
+        assertThat(globalId.variant()).isEqualTo(2);
+        assertThat(globalId.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    void idsWithinOneMillisecondAreStrictlyIncreasing() {
+        var generator = new UuidV7Generator();
+        var globalIds = IntStream.range(0, 10_000)
+                                 .mapToObj(i -> generator.next(NOW).toString())
+                                 .toList();
+
+        assertThat(globalIds).isSorted()
+                             .doesNotHaveDuplicates();
+        assertThat(globalIds).allMatch(globalId -> globalId.charAt(14) == '7');
+    }
+
+    @Test
+    void idsStayIncreasingWhenTheClockGoesBackwards() {
+        var generator = new UuidV7Generator();
+        var later = generator.next(NOW + 1);
+        var earlier = generator.next(NOW);
+
+        assertThat(earlier.toString()).isGreaterThan(later.toString());
+    }
+}
@@ -0,0 +1,89 @@
+package com.earlycharlemagne.customerapi.customer.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.IngestionStatus;
+import com.earlycharlemagne.customerapi.customer.exception.IngestionQueueFullException;
+import com.earlycharlemagne.customerapi.customer.lookup.CustomerLookupFilter;
+import com.earlycharlemagne.customerapi.customer.lookup.LookupFilterProperties;
+import com.earlycharlemagne.customerapi.customer.outbox.CustomerChangeRepository;
+import com.earlycharlemagne.customerapi.customer.repository.CustomerRepository;
+import com.earlycharlemagne.customerapi.customer.service.CustomerService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomerIngestionServiceTest {
+    @Test
+    void customersAreTurnedAwayWhileTheQueueIsFull() throws Exception {
+        var writerBlocked = new CountDownLatch(1);
+        var releaseWriter = new CountDownLatch(1);
+        var repository = mock(CustomerRepository.class);
+        when(repository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            writerBlocked.countDown();
+            releaseWriter.await();
+            return Set.of();
+        });
+        var ingestionService = ingestionService(repository, 1);
+        ingestionService.start();
+
+        try {
+            var written = ingestionService.accept(customer("jane.doe@example.com"));
+            writerBlocked.await();
+            var queued = ingestionService.accept(customer("john.doe@example.com"));
+
+            assertThatThrownBy(() -> ingestionService.accept(customer("jim.doe@example.com"))).isInstanceOf(IngestionQueueFullException.class);
+            assertThat(ingestionService.getStatus(written)
+                                       .status()).isEqualTo(IngestionStatus.PENDING);
+            assertThat(ingestionService.getStatus(queued)
+                                       .status()).isEqualTo(IngestionStatus.PENDING);
+        } finally {
+            releaseWriter.countDown();
+            ingestionService.stop();
+        }
+    }
+
+    @Test
+    void customersAreTurnedAwayWhenNotRunning() throws IOException {
+        var ingestionService = ingestionService(mock(CustomerRepository.class), 10);
+
+        assertThatThrownBy(() -> ingestionService.accept(customer("jane.doe@example.com"))).isInstanceOf(IngestionQueueFullException.class);
+    }
+
+    private CustomerIngestionService ingestionService(CustomerRepository repository, int queueCapacity) throws IOException {
+        var properties = new IngestionProperties();
+        properties.setQueueCapacity(queueCapacity);
+
+        return new CustomerIngestionService(repository,
+                                            new CustomerService(repository, null, null, null, null, null, null),
+                                            new CustomerLookupFilter(repository, new LookupFilterProperties()),
+                                            mock(CustomerChangeRepository.class),
+                                            mock(PlatformTransactionManager.class),
+                                            properties,
+                                            Jackson2ObjectMapperBuilder.json()
+                                                                       .build(),
+                                            new SimpleMeterRegistry());
+    }
+
+    private CustomerDto customer(String email) {
+        return CustomerDto.builder()
+                          .firstName("Jane")
+                          .lastName("Doe")
+                          .age(31)
+                          .email(email)
+                          .address("123 street, Amsterdam")
+                          .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.earlycharlemagne.customerapi.customer.ingestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class IngestionJournalTest {
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+                                                                                 .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedCustomersAreReadBackAfterReopening() throws IOException {
+        var path = directory.resolve("ingestion.journal");
+        try (var journal = new IngestionJournal(path, true, OBJECT_MAPPER)) {
+            journal.append(customer("jane.doe@example.com"));
+            journal.append(customer("john.doe@example.com"));
+        }
+
+        try (var journal = new IngestionJournal(path, false, OBJECT_MAPPER)) {
+            assertThat(journal.readAll()).containsExactly(customer("jane.doe@example.com"), customer("john.doe@example.com"));
+        }
+    }
+
+    @Test
+    void incompleteLastRecordIsDropped() throws IOException {
+        var path = directory.resolve("ingestion.journal");
+        try (var journal = new IngestionJournal(path, false, OBJECT_MAPPER)) {
+            journal.append(customer("jane.doe@example.com"));
+        }
+        Files.writeString(path, "{\"id\":\"0190", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (var journal = new IngestionJournal(path, false, OBJECT_MAPPER)) {
+            assertThat(journal.readAll()).containsExactly(customer("jane.doe@example.com"));
+
+            journal.append(customer("john.doe@example.com"));
+            assertThat(journal.readAll()).containsExactly(customer("jane.doe@example.com"), customer("john.doe@example.com"));
+        }
+    }
+
+    @Test
+    void truncatedJournalIsEmpty() throws IOException {
+        try (var journal = new IngestionJournal(directory.resolve("ingestion.journal"), false, OBJECT_MAPPER)) {
+            journal.append(customer("jane.doe@example.com"));
+            journal.truncate();
+
+            assertThat(journal.readAll()).isEmpty();
+        }
+    }
+
+    private CustomerDto customer(String email) {
+        return CustomerDto.builder()
+                          .id("0190a6f2-7c3e-7000-8000-000000000001")
+                          .firstName("Jane")
+                          .lastName("Doe")
+                          .age(31)
+                          .email(email)
+                          .address("123 street, Amsterdam")
+                          .build();
+    }
+}
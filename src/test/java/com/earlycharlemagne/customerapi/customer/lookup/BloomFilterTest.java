@@ -0,0 +1,35 @@
+package com.earlycharlemagne.customerapi.customer.lookup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+    @Test
+    void addedValuesAreAlwaysFound() {
+        var bloomFilter = new BloomFilter(10_000, 0.01);
+        var values = IntStream.range(0, 10_000)
+                              .mapToObj(i -> UUID.randomUUID().toString())
+                              .toList();
+
+        values.forEach(bloomFilter::put);
+
+        assertThat(values).allMatch(bloomFilter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredProbability() {
+        var bloomFilter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000)
+                 .forEach(i -> bloomFilter.put(UUID.randomUUID().toString()));
+
+        var falsePositives = IntStream.range(0, 100_000)
+                                      .filter(i -> bloomFilter.mightContain(UUID.randomUUID().toString()))
+                                      .count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
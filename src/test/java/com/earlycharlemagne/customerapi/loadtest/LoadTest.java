@@ -0,0 +1,268 @@
+package com.earlycharlemagne.customerapi.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.earlycharlemagne.customerapi.customer.dto.AddressRequest;
+import com.earlycharlemagne.customerapi.customer.dto.BatchItemResult;
+import com.earlycharlemagne.customerapi.customer.dto.BatchItemStatus;
+import com.earlycharlemagne.customerapi.customer.dto.BatchResponse;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerDto;
+import com.earlycharlemagne.customerapi.customer.dto.CustomerIdResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives a mixed workload against a running instance and reports throughput and latency percentiles per
+ * operation. Customers are seeded through the batch endpoint first, so the API decides where they end up:
+ * the docker-compose database for a local run.
+ * <p>
+ * Without a target rate every worker sends its next request as soon as the previous one returns. With
+ * {@code loadtest.rate} set, requests are scheduled at fixed intervals and latency is measured from the intended
+ * send time, so a stalled server shows up in the percentiles instead of just lowering the request count.
+ */
+public class LoadTest {
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int NAME_CARDINALITY = 1000;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String authorization;
+    private final String runId = UUID.randomUUID()
+                                     .toString()
+                                     .substring(0, 8);
+    private final List<String> customerIds = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong createdCustomers = new AtomicLong();
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final Operation[] operationTable;
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                                    .version(HttpClient.Version.HTTP_1_1)
+                                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                                    .build();
+        this.authorization = "Basic " + Base64.getEncoder()
+                                              .encodeToString((config.username() + ":" + config.password()).getBytes(StandardCharsets.UTF_8));
+        this.operationTable = operationTable(config.mix());
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestConfig.fromSystemProperties()).run();
+    }
+
+    void run() throws Exception {
+        seed();
+
+        System.out.printf("Warming up for %s with %d workers%n", config.warmup(), config.concurrency());
+        drive(config.warmup().toNanos());
+        recorders.values()
+                 .forEach(Recorder::reset);
+        errors.values()
+              .forEach(count -> count.set(0));
+
+        System.out.printf("Measuring for %s%n", config.duration());
+        long started = System.nanoTime();
+        drive(config.duration().toNanos());
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        report(seconds);
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        System.out.printf("Seeding %d customers%n", config.seedCustomers());
+        for (int offset = 0; offset < config.seedCustomers(); offset += SEED_BATCH_SIZE) {
+            List<CustomerDto> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + SEED_BATCH_SIZE, config.seedCustomers()); i++) {
+                batch.add(newCustomer(i));
+            }
+
+            HttpResponse<byte[]> response = send(request("/api/customers/batch").POST(body(batch)));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            objectMapper.readValue(response.body(), BatchResponse.class)
+                        .results()
+                        .stream()
+                        .filter(result -> result.status() == BatchItemStatus.CREATED)
+                        .map(BatchItemResult::id)
+                        .forEach(customerIds::add);
+        }
+    }
+
+    private void drive(long durationNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        long intervalNanos = config.rate() > 0 ? TimeUnit.SECONDS.toNanos(config.concurrency()) / config.rate() : 0;
+
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < config.concurrency(); worker++) {
+                long firstSend = start + intervalNanos * worker / config.concurrency();
+                workers.submit(() -> work(firstSend, intervalNanos, deadline));
+            }
+        }
+    }
+
+    private void work(long firstSend, long intervalNanos, long deadline) {
+        long intendedSend = firstSend;
+
+        while (intendedSend < deadline) {
+            if (intervalNanos > 0) {
+                LockSupport.parkNanos(intendedSend - System.nanoTime());
+            } else {
+                intendedSend = System.nanoTime();
+            }
+
+            Operation operation = operationTable[ThreadLocalRandom.current().nextInt(operationTable.length)];
+            try {
+                int status = execute(operation);
+                if (status >= 400) {
+                    errors.get(operation).incrementAndGet();
+                }
+            } catch (IOException e) {
+                errors.get(operation).incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedSend);
+            recorders.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+
+            intendedSend += intervalNanos;
+        }
+    }
+
+    private int execute(Operation operation) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        HttpRequest.Builder request = switch (operation) {
+            case GET_BY_ID -> request("/api/customers/" + randomCustomerId()).GET();
+            case SEARCH_BY_NAME -> request("/api/customers?lastName=" + URLEncoder.encode(lastName(random.nextInt(NAME_CARDINALITY)), StandardCharsets.UTF_8)).GET();
+            case LIST -> request("/api/customers").GET();
+            case CREATE -> request("/api/customers").POST(body(newCustomer(config.seedCustomers() + (int) createdCustomers.getAndIncrement())));
+            case UPDATE_ADDRESS -> request("/api/customers/" + randomCustomerId() + "/address").PUT(body(new AddressRequest(random.nextInt(1000) + " Updated street, Utrecht")));
+        };
+        HttpResponse<byte[]> response = send(request);
+
+        if (operation == Operation.CREATE && response.statusCode() == 201) {
+            customerIds.add(objectMapper.readValue(response.body(), CustomerIdResponse.class)
+                                        .id());
+        }
+
+        return response.statusCode();
+    }
+
+    private void report(double seconds) throws IOException {
+        Files.createDirectories(config.reportDirectory());
+        System.out.printf("%n%-15s %9s %9s %7s %9s %9s %9s %9s%n", "operation", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation)
+                                           .getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            print(operation.name(), histogram, errors.get(operation).get(), seconds);
+            writeReport(operation.name(), histogram);
+        }
+        print("TOTAL", total, errors.values()
+                                    .stream()
+                                    .mapToLong(AtomicLong::get)
+                                    .sum(), seconds);
+        writeReport("TOTAL", total);
+
+        System.out.printf("%nHDR percentile distributions written to %s%n", config.reportDirectory().toAbsolutePath());
+    }
+
+    private void print(String name, Histogram histogram, long errorCount, double seconds) {
+        System.out.printf("%-15s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                          name,
+                          histogram.getTotalCount(),
+                          histogram.getTotalCount() / seconds,
+                          errorCount,
+                          histogram.getValueAtPercentile(50) / 1000.0,
+                          histogram.getValueAtPercentile(99) / 1000.0,
+                          histogram.getValueAtPercentile(99.9) / 1000.0,
+                          histogram.getMaxValue() / 1000.0);
+    }
+
+    private void writeReport(String name, Histogram histogram) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(config.reportDirectory().resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private CustomerDto newCustomer(int index) {
+        return CustomerDto.builder()
+                          .firstName("First" + index % NAME_CARDINALITY)
+                          .lastName(lastName(index % NAME_CARDINALITY))
+                          .email("loadtest-%s-%d@example.com".formatted(runId, index))
+                          .age(18 + index % 60)
+                          .address(index + " Load street, Amsterdam")
+                          .build();
+    }
+
+    private static String lastName(int index) {
+        return "Last" + index;
+    }
+
+    private String randomCustomerId() {
+        return customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                          .header("Authorization", authorization)
+                          .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static Operation[] operationTable(Map<Operation, Integer> mix) {
+        List<Operation> table = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+
+        return table.toArray(Operation[]::new);
+    }
+}
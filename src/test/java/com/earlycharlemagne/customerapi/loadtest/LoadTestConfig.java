@@ -0,0 +1,53 @@
+package com.earlycharlemagne.customerapi.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param rate total requests per second across all workers, or 0 to send each request as soon as the previous
+ *             one returned
+ * @param mix  relative weight of each operation, e.g. {@code GET_BY_ID:60,SEARCH_BY_NAME:20,CREATE:10,UPDATE_ADDRESS:10}
+ */
+record LoadTestConfig(URI baseUrl,
+                      String username,
+                      String password,
+                      int seedCustomers,
+                      int concurrency,
+                      int rate,
+                      Duration warmup,
+                      Duration duration,
+                      Map<Operation, Integer> mix,
+                      Path reportDirectory) {
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(URI.create(property("baseUrl", "http://localhost:8080")),
+                                  property("username", System.getenv("API_USERNAME")),
+                                  property("password", System.getenv("API_PASSWORD")),
+                                  Integer.parseInt(property("seedCustomers", "10000")),
+                                  Integer.parseInt(property("concurrency", "32")),
+                                  Integer.parseInt(property("rate", "0")),
+                                  Duration.parse("PT" + property("warmup", "10s")),
+                                  Duration.parse("PT" + property("duration", "60s")),
+                                  parseMix(property("mix", "GET_BY_ID:60,SEARCH_BY_NAME:20,CREATE:10,UPDATE_ADDRESS:10")),
+                                  Path.of(property("reportDirectory", "target/loadtest")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim()
+                                  .split(":");
+            weights.put(Operation.valueOf(parts[0]), Integer.parseInt(parts[1]));
+        }
+
+        return weights;
+    }
+}
@@ -0,0 +1,12 @@
+package com.earlycharlemagne.customerapi.loadtest;
+
+/**
+ * The requests the load test sends, after the scenarios in {@code customer_api.postman_collection.json}.
+ */
+enum Operation {
+    GET_BY_ID,
+    SEARCH_BY_NAME,
+    LIST,
+    CREATE,
+    UPDATE_ADDRESS
+}
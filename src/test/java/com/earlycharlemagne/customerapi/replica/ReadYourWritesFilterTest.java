@@ -0,0 +1,104 @@
+package com.earlycharlemagne.customerapi.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(new ReplicaProperties());
+
+    @Test
+    void writerIsSentToThePrimaryBeforeItsWriteReturns() throws Exception {
+        var readDuringWrite = new AtomicBoolean();
+
+        filter.doFilter(request("POST"), new MockHttpServletResponse(), (request, response) -> {
+            readDuringWrite.set(CompletableFuture.supplyAsync(this::readsFromPrimary)
+                                                 .join());
+        });
+
+        assertThat(readDuringWrite).isTrue();
+        assertThat(readsFromPrimary()).isTrue();
+    }
+
+    @Test
+    void failedWriteDoesNotMakeTheClientSticky() throws Exception {
+        filter.doFilter(request("POST"), new MockHttpServletResponse(), (request, response) -> ((MockHttpServletResponse) response).setStatus(409));
+
+        assertThat(readsFromPrimary()).isFalse();
+    }
+
+    @Test
+    void throwingWriteDoesNotMakeTheClientSticky() {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("write failed");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request("POST"), new MockHttpServletResponse(), failing)).isInstanceOf(IllegalStateException.class);
+        assertThat(readsFromPrimary()).isFalse();
+    }
+
+    @Test
+    void failedWriteKeepsAnEarlierWriteSticky() throws Exception {
+        filter.doFilter(request("POST"), new MockHttpServletResponse(), (request, response) -> {
+        });
+        filter.doFilter(request("PUT"), new MockHttpServletResponse(), (request, response) -> ((MockHttpServletResponse) response).setStatus(412));
+
+        assertThat(readsFromPrimary()).isTrue();
+    }
+
+    @Test
+    void otherClientsKeepReadingFromTheReplicas() throws Exception {
+        filter.doFilter(request("POST"), new MockHttpServletResponse(), (request, response) -> {
+        });
+
+        assertThat(readsFromPrimary(request("GET", "other-client"))).isFalse();
+    }
+
+    @Test
+    void clientsWithoutTheHeaderAreNotKeptOnThePrimary() throws Exception {
+        var write = request("POST", null);
+        write.setUserPrincipal(() -> "api_user");
+        filter.doFilter(write, new MockHttpServletResponse(), (request, response) -> {
+        });
+
+        var read = request("GET", null);
+        read.setUserPrincipal(() -> "api_user");
+        assertThat(readsFromPrimary(read)).isFalse();
+    }
+
+    private boolean readsFromPrimary() {
+        return readsFromPrimary(request("GET"));
+    }
+
+    private boolean readsFromPrimary(MockHttpServletRequest read) {
+        var primaryOnly = new AtomicBoolean();
+        try {
+            filter.doFilter(read, new MockHttpServletResponse(), (request, response) -> primaryOnly.set(ReplicaRouting.isPrimaryOnly()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+
+        return primaryOnly.get();
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return request(method, "client");
+    }
+
+    private static MockHttpServletRequest request(String method, String client) {
+        var request = new MockHttpServletRequest(method, "/api/customers");
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package com.earlycharlemagne.customerapi.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaDataSourceTest {
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private ReplicaDataSource replicaDataSource;
+
+    @AfterEach
+    void close() {
+        ReplicaRouting.clear();
+        replicaDataSource.close();
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsReachable() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replicaDataSource = new ReplicaDataSource(primary, properties("jdbc:postgresql://localhost:1/first", "jdbc:postgresql://localhost:1/second"), new SimpleMeterRegistry());
+
+        assertThat(replicaDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(replicaDataSource.healthyReplicas()).isZero();
+    }
+
+    @Test
+    void unreachableReplicasFailTheHealthCheck() {
+        replicaDataSource = new ReplicaDataSource(primary, properties("jdbc:postgresql://localhost:1/first"), new SimpleMeterRegistry());
+        assertThat(replicaDataSource.healthyReplicas()).isEqualTo(1);
+
+        replicaDataSource.checkHealth();
+
+        assertThat(replicaDataSource.healthyReplicas()).isZero();
+    }
+
+    @Test
+    void primaryOnlyReadsDontTouchTheReplicas() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replicaDataSource = new ReplicaDataSource(primary, properties("jdbc:postgresql://localhost:1/first"), new SimpleMeterRegistry());
+        ReplicaRouting.setPrimaryOnly(true);
+
+        assertThat(replicaDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(replicaDataSource.healthyReplicas()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionsWithOtherCredentialsComeFromThePrimary() throws Exception {
+        when(primary.getConnection("reporting", "secret")).thenReturn(primaryConnection);
+        replicaDataSource = new ReplicaDataSource(primary, properties("jdbc:postgresql://localhost:1/first"), new SimpleMeterRegistry());
+
+        assertThat(replicaDataSource.getConnection("reporting", "secret")).isSameAs(primaryConnection);
+    }
+
+    private static ReplicaProperties properties(String... urls) {
+        var properties = new ReplicaProperties();
+        properties.setConnectionTimeout(Duration.ofMillis(250));
+        properties.setInstances(List.of(urls)
+                                    .stream()
+                                    .map(url -> {
+                                        var instance = new ReplicaProperties.Instance();
+                                        instance.setUrl(url);
+                                        return instance;
+                                    })
+                                    .toList());
+
+        return properties;
+    }
+}
@@ -0,0 +1,55 @@
+package com.earlycharlemagne.customerapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class CachingPasswordEncoderTest {
+    PasswordEncoder delegate;
+    CachingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new BCryptPasswordEncoder(4));
+        passwordEncoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(5), 10);
+    }
+
+    @Test
+    void verifiedCredentialsAreCached() {
+        var encodedPassword = passwordEncoder.encode("verysecurepassword");
+
+        assertThat(passwordEncoder.matches("verysecurepassword", encodedPassword)).isTrue();
+        assertThat(passwordEncoder.matches("verysecurepassword", encodedPassword)).isTrue();
+
+        verify(delegate, times(1)).matches("verysecurepassword", encodedPassword);
+    }
+
+    @Test
+    void rejectedCredentialsAreNotCached() {
+        var encodedPassword = passwordEncoder.encode("verysecurepassword");
+
+        assertThat(passwordEncoder.matches("wrongpassword", encodedPassword)).isFalse();
+        assertThat(passwordEncoder.matches("wrongpassword", encodedPassword)).isFalse();
+
+        verify(delegate, times(2)).matches("wrongpassword", encodedPassword);
+    }
+
+    @Test
+    void changedPasswordIsVerifiedAgain() {
+        var encodedPassword = passwordEncoder.encode("verysecurepassword");
+        var changedEncodedPassword = passwordEncoder.encode("anotherpassword");
+
+        assertThat(passwordEncoder.matches("verysecurepassword", encodedPassword)).isTrue();
+        assertThat(passwordEncoder.matches("verysecurepassword", changedEncodedPassword)).isFalse();
+
+        verify(delegate, times(1)).matches("verysecurepassword", changedEncodedPassword);
+    }
+}